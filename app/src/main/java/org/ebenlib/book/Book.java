@@ -1,5 +1,8 @@
 package org.ebenlib.book;
 
+import org.ebenlib.ds.EbenLibDictionary;
+import org.ebenlib.utils.CsvRow;
+
 public class Book {
     private String isbn;
     private String title;
@@ -65,6 +68,23 @@ public class Book {
         );
     }
 
+    /**
+     * Like {@link #fromCSV}, reading fields in place from the streaming reader;
+     * honours {@code \,} inside fields. Author, category, publisher and shelf
+     * repeat across books and go through {@code fields}, which the caller
+     * owns for the length of one load.
+     */
+    public static Book fromRow(CsvRow row, EbenLibDictionary fields) {
+        if (row.size() < 8) throw new IllegalArgumentException("Invalid CSV line: " + row);
+        return new Book(
+            row.get(0), row.get(1),
+            fields.intern(row.get(2)), fields.intern(row.get(3)),
+            row.getInt(4),
+            fields.intern(row.get(5)), fields.intern(row.get(6)),
+            row.getInt(7)
+        );
+    }
+
     private static String escape(String s) {
         return s.replace(",", "\\,");
     }
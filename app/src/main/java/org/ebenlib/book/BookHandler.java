@@ -34,7 +34,7 @@ public class BookHandler {
         ConsoleUI.println("  book update    --isbn ... [--title ...] [--author ...] [...]", ConsoleUI.WHITE);
         ConsoleUI.println("  book delete    --isbn ...", ConsoleUI.WHITE);
         ConsoleUI.println("  book list", ConsoleUI.WHITE);
-        ConsoleUI.println("  book search    --title ... | --author ... | --category ...", ConsoleUI.WHITE);
+        ConsoleUI.println("  book search    --title ... | --author ... | --category ... | --year FROM-TO", ConsoleUI.WHITE);
         ConsoleUI.println("  book stats     --isbn ...", ConsoleUI.WHITE);
     }
 
@@ -153,8 +153,19 @@ public class BookHandler {
             found = svc.searchByAuthor(o.get("author"));
         } else if (o.containsKey("category")) {
             found = svc.searchByCategory(o.get("category"));
+        } else if (o.containsKey("year")) {
+            // --year 1990-2000 or --year 1997
+            String[] span = o.get("year").split("-", 2);
+            try {
+                int from = Integer.parseInt(span[0].trim());
+                int to = span.length > 1 ? Integer.parseInt(span[1].trim()) : from;
+                found = svc.searchByYearRange(from, to);
+            } catch (NumberFormatException e) {
+                ConsoleUI.error("Invalid --year, expected YEAR or FROM-TO");
+                return;
+            }
         } else {
-            ConsoleUI.error("Specify --title, --author or --category");
+            ConsoleUI.error("Specify --title, --author, --category or --year");
             return;
         }
         if (found.isEmpty()) {
@@ -3,13 +3,17 @@ package org.ebenlib.book;
 import org.ebenlib.borrow.BorrowStore;
 import org.ebenlib.cli.ConsoleUI;
 import org.ebenlib.ds.EbenLibComparator;
+import org.ebenlib.ds.EbenLibDictionary;
 import org.ebenlib.ds.EbenLibList;
+import org.ebenlib.ds.EbenLibOpenHashMap;
 import org.ebenlib.searchsort.Searcher;
 import org.ebenlib.searchsort.Sorter;
 import org.ebenlib.utils.FileUtil;
 
 import java.io.IOException;
 import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.util.*;
 import java.util.function.Function;
 
@@ -18,6 +22,16 @@ public class BookService {
     private final Path csvPath;
     private final BorrowStore borrowStore;
 
+    // resident catalogue, reloaded only when books.csv changes on disk
+    private EbenLibList<Book> books = new EbenLibList<>();
+    private final EbenLibOpenHashMap<String, Book> byIsbn = new EbenLibOpenHashMap<>();   // folded ISBN
+    private final EbenLibOpenHashMap<String, Book> byTitle = new EbenLibOpenHashMap<>();  // folded title, first wins
+    private FileTime loadedModified;
+    private long loadedSize = -1;
+    private Object loadedKey;   // file identity; every atomic save creates a new one
+    // repeated author/category/publisher/shelf strings of the current load
+    private final EbenLibDictionary fields = new EbenLibDictionary();
+
     public BookService(Path csvPath) {
         this.csvPath     = csvPath;
         this.borrowStore = new BorrowStore(Paths.get("app","src","main","resources","borrows.csv"));
@@ -33,44 +47,43 @@ public class BookService {
 
     // -------- Core Operations --------
 
+    /** A copy of the catalogue list; the Book objects themselves are shared with the cache. */
     public EbenLibList<Book> listAll() {
-        return FileUtil.readCSV(csvPath, Book::fromCSV);
+        return new EbenLibList<>(catalog());
     }
 
     public Optional<Book> findByIsbn(String isbn) {
-        EbenLibList<Book> books = new EbenLibList<>(listAll());
-        EbenLibComparator<Book> comparator = EbenLibComparator.comparing(Book::getIsbn, String.CASE_INSENSITIVE_ORDER);
-        Sorter.mergeSort(books, comparator);
-        Book key = new Book(isbn, "", "", "", 0, "", "", 0); 
-        int index = Searcher.binarySearch(books, key, comparator);
-        return index >= 0 ? Optional.of(books.get(index)) : Optional.empty();
+        catalog();
+        return Optional.ofNullable(byIsbn.get(Sorter.fold(isbn)));
     }
 
 
     public void add(Book book) {
-        EbenLibList<Book> books = listAll();
-        Optional<Book> existing = findByIsbn(book.getIsbn());
-        if (existing.isPresent()) {
+        catalog();
+        if (byIsbn.containsKey(Sorter.fold(book.getIsbn()))) {
             throw new IllegalArgumentException("Book with ISBN already exists: " + book.getIsbn());
         }
         books.add(book);
-        FileUtil.writeCSV(csvPath, books, Book::toCSV);
+        index(book);
+        save();
     }
 
     public void update(Book updatedBook) {
-        EbenLibList<Book> books = listAll().map(book ->
-        book.getIsbn().equalsIgnoreCase(updatedBook.getIsbn())
-            ? updatedBook
-            : book
-        );
-        FileUtil.writeCSV(csvPath, books, Book::toCSV);
+        EbenLibList<Book> all = catalog();
+        for (int i = 0; i < all.size(); i++) {
+            if (all.get(i).getIsbn().equalsIgnoreCase(updatedBook.getIsbn())) {
+                all.set(i, updatedBook);
+            }
+        }
+        reindex();
+        save();
     }
 
     public boolean delete(String isbn) {
-        EbenLibList<Book> books = listAll();
-        boolean removed = books.removeIf(book -> book.getIsbn().equalsIgnoreCase(isbn));
+        boolean removed = catalog().removeIf(book -> book.getIsbn().equalsIgnoreCase(isbn));
         if (removed) {
-            FileUtil.writeCSV(csvPath, books, Book::toCSV);
+            reindex();
+            save();
         }
         return removed;
     }
@@ -78,26 +91,26 @@ public class BookService {
     // -------- Modular Search & Sort System --------
 
     public EbenLibList<Book> search(Function<Book, String> fieldExtractor, String query) {
-        EbenLibList<Book> all = new EbenLibList<>(listAll());
+        String needle = query.toLowerCase();
         EbenLibList<Book> result = new EbenLibList<>();
 
-        for (Book book : all) {
+        for (Book book : catalog()) {
             String fieldValue = fieldExtractor.apply(book);
-            if (fieldValue != null && fieldValue.toLowerCase().contains(query.toLowerCase())) {
+            if (fieldValue != null && fieldValue.toLowerCase().contains(needle)) {
                 result.add(book);
             }
         }
 
         // Optional: sort results alphabetically by title (for deterministic ordering)
-        Sorter.mergeSort(result, EbenLibComparator.comparing(Book::getTitle, String.CASE_INSENSITIVE_ORDER));
+        Sorter.sortByFoldedKey(result, Book::getTitle);
         return result;
     }
 
 
     public EbenLibList<Book> sort(EbenLibComparator<Book> comparator, boolean ascending) {
-        EbenLibList<Book> books = new EbenLibList<>(listAll());
+        EbenLibList<Book> books = listAll();
         EbenLibComparator<Book> actualComparator = ascending ? comparator : comparator.reversed();
-        Sorter.mergeSort(books, actualComparator);
+        Sorter.parallelSort(books, actualComparator);
         return books;
     }
 
@@ -115,6 +128,14 @@ public class BookService {
         return search(Book::getCategory, q);
     }
 
+    /** Books published between {@code fromYear} and {@code toYear} (inclusive), oldest first. */
+    public EbenLibList<Book> searchByYearRange(int fromYear, int toYear) {
+        EbenLibList<Book> books = listAll();
+        Sorter.radixSort(books, Book::getYear);
+        Searcher.IndexRange range = Searcher.rangeSearch(books, fromYear, toYear, Book::getYear);
+        return books.subList(range.from(), range.to());
+    }
+
     // Example stat computation (stub)
     public BookStats stats(String isbn, String title, String author) {
         return BookStats.compute(isbn, title, author, this, borrowStore);
@@ -125,29 +146,19 @@ public class BookService {
     }
 
     public Optional<Book> findByTitle(String title) {
-        EbenLibList<Book> books = new EbenLibList<>(listAll());
-        EbenLibComparator<Book> comparator = EbenLibComparator.comparing(Book::getTitle, String.CASE_INSENSITIVE_ORDER);
-        Sorter.mergeSort(books, comparator);
-        Book key = new Book("", title, "", "", 0, "", "", 0); // dummy book with only title
-        int index = Searcher.binarySearch(books, key, comparator);
-        return index >= 0 ? Optional.of(books.get(index)) : Optional.empty();
-    }
-
-
-
-    private void save(EbenLibList<Book> books) {
-        FileUtil.writeCSV(csvPath, books, Book::toCSV);
+        catalog();
+        return Optional.ofNullable(byTitle.get(Sorter.fold(title)));
     }
 
 
+    // the found Book is the cached instance, so changing it and saving persists the change
     public boolean decrementStock(String title) {
-        EbenLibList<Book> books = listAll();
         Optional<Book> opt = findByTitle(title);
         if (opt.isPresent()) {
             Book b = opt.get();
             if (b.getQuantity() > 0) {
                 b.setQuantity(b.getQuantity() - 1);
-                save(books);
+                save();
                 return true;
             }
         }
@@ -155,19 +166,81 @@ public class BookService {
     }
 
     public void incrementStock(String title, int qty) {
-        EbenLibList<Book> books = listAll();
         Optional<Book> opt = findByTitle(title);
         if (opt.isPresent()) {
             Book b = opt.get();
             b.setQuantity(b.getQuantity() + qty);
+            save();
         } else {
             ConsoleUI.error("Book with title not found: " + title);
         }
-        save(books);
     }
 
     public boolean existsByIsbn(String isbn) {
         return findByIsbn(isbn).isPresent();
     }
 
+    // -------- Catalogue cache --------
+
+    /**
+     * The resident catalogue. One stat per call: the file is parsed again
+     * only if its identity, size or modification time differ from the last
+     * load (an external edit, or another BookService writing it). Saves
+     * replace the file rather than rewrite it, so the identity catches a
+     * same-size save within the timestamp's resolution.
+     */
+    private EbenLibList<Book> catalog() {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(csvPath, BasicFileAttributes.class);
+            if (attrs.size() != loadedSize || !attrs.lastModifiedTime().equals(loadedModified)
+                    || !Objects.equals(attrs.fileKey(), loadedKey)) {
+                fields.clear();
+                books = FileUtil.readRows(csvPath, row -> Book.fromRow(row, fields));
+                reindex();
+                stamp(attrs);
+            }
+        } catch (NoSuchFileException e) {
+            books = new EbenLibList<>();
+            reindex();
+            loadedModified = null;
+            loadedSize = -1;
+            loadedKey = null;
+        } catch (IOException e) {
+            ConsoleUI.warning("Could not check books file, using cached catalogue: " + e.getMessage());
+        }
+        return books;
+    }
+
+    private void reindex() {
+        byIsbn.clear();
+        byTitle.clear();
+        byIsbn.ensureCapacity(books.size());
+        byTitle.ensureCapacity(books.size());
+        for (Book b : books) {
+            index(b);
+        }
+    }
+
+    private void index(Book b) {
+        byIsbn.put(Sorter.fold(b.getIsbn()), b);
+        String title = Sorter.fold(b.getTitle());
+        if (!byTitle.containsKey(title)) byTitle.put(title, b);
+    }
+
+    /** Writes the cache back and records the new file stamp, so our own write is not re-read. */
+    private void save() {
+        FileUtil.writeCSV(csvPath, books, Book::toCSV);
+        try {
+            stamp(Files.readAttributes(csvPath, BasicFileAttributes.class));
+        } catch (IOException e) {
+            loadedSize = -1;   // force a reload next time
+        }
+    }
+
+    private void stamp(BasicFileAttributes attrs) {
+        loadedModified = attrs.lastModifiedTime();
+        loadedSize = attrs.size();
+        loadedKey = attrs.fileKey();
+    }
+
 }
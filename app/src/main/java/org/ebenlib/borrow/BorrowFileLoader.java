@@ -0,0 +1,183 @@
+package org.ebenlib.borrow;
+
+import org.ebenlib.ds.EbenLibDictionary;
+import org.ebenlib.utils.CsvRow;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parses a borrow snapshot in newline-aligned chunks, in parallel on the
+ * common ForkJoinPool.
+ *
+ * The file is cut into {@link #CHUNK_BYTES} pieces, each boundary moved
+ * forward to the next line start, and every chunk is read with its own
+ * positional read and parsed into a {@link Chunk}. Fines are recomputed
+ * as each row is parsed, against one {@code today} for the whole load.
+ *
+ * {@link EbenLibDictionary} is not thread-safe, so each chunk interns
+ * user names and ISBNs into a dictionary of its own and keeps the codes
+ * per row; the caller swaps them for its shared instances while merging
+ * the chunks back in file order.
+ */
+final class BorrowFileLoader {
+    static final int CHUNK_BYTES = 8 << 20;
+
+    /** Rows of one chunk, in file order. */
+    static final class Chunk {
+        BorrowRecord[] records = new BorrowRecord[64];
+        /** Per row: codes in {@link #names} of the user and the ISBN. */
+        int[] users = new int[64], books = new int[64];
+        final EbenLibDictionary names = new EbenLibDictionary();
+        int size;
+        int maxId;
+
+        /** The shared instance for each of this chunk's names, indexed by code. */
+        String[] canonical(EbenLibDictionary shared) {
+            String[] out = new String[names.size()];
+            for (int code = 0; code < out.length; code++) {
+                out[code] = shared.intern(names.symbol(code));
+            }
+            return out;
+        }
+
+        private void add(BorrowRecord rec, int user, int book) {
+            if (size == records.length) {
+                int cap = size * 2;
+                BorrowRecord[] r = new BorrowRecord[cap];
+                System.arraycopy(records, 0, r, 0, size);
+                records = r;
+                int[] u = new int[cap], b = new int[cap];
+                System.arraycopy(users, 0, u, 0, size);
+                System.arraycopy(books, 0, b, 0, size);
+                users = u;
+                books = b;
+            }
+            records[size] = rec;
+            users[size] = user;
+            books[size] = book;
+            size++;
+            maxId = Math.max(maxId, rec.id);
+        }
+    }
+
+    private BorrowFileLoader() {}
+
+    /** Parses {@code file} into chunks, in file order. */
+    static Chunk[] load(Path file, LocalDate today) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            int n = (int) Math.max(1, (size + CHUNK_BYTES - 1) / CHUNK_BYTES);
+            long[] bounds = new long[n + 1];
+            bounds[n] = size;
+            for (int k = 1; k < n; k++) {
+                bounds[k] = nextLineStart(ch, Math.max((long) k * CHUNK_BYTES, bounds[k - 1]), size);
+            }
+            Chunk[] chunks = new Chunk[n];
+            if (n == 1 || ForkJoinPool.getCommonPoolParallelism() <= 1) {
+                for (int k = 0; k < n; k++) {
+                    chunks[k] = parse(ch, bounds[k], bounds[k + 1], today);
+                }
+                return chunks;
+            }
+            try {
+                ForkJoinPool.commonPool().invoke(new ParseTask(ch, bounds, 0, n, today, chunks));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return chunks;
+        }
+    }
+
+    // ─── Internal helpers ───────────────────────────────────────────────────
+
+    @SuppressWarnings("serial")   // never serialized
+    private static final class ParseTask extends RecursiveAction {
+        private final FileChannel ch;
+        private final long[] bounds;
+        private final int lo, hi;
+        private final LocalDate today;
+        private final Chunk[] out;
+
+        ParseTask(FileChannel ch, long[] bounds, int lo, int hi, LocalDate today, Chunk[] out) {
+            this.ch = ch; this.bounds = bounds; this.lo = lo; this.hi = hi; this.today = today; this.out = out;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo == 1) {
+                try {
+                    out[lo] = parse(ch, bounds[lo], bounds[hi], today);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new ParseTask(ch, bounds, lo, mid, today, out),
+                      new ParseTask(ch, bounds, mid, hi, today, out));
+        }
+    }
+
+    /** Offset just past the first newline at or after {@code from}, or {@code size}. */
+    private static long nextLineStart(FileChannel ch, long from, long size) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(4096);
+        long pos = from;
+        while (pos < size) {
+            buf.clear();
+            int read = ch.read(buf, pos);
+            if (read < 0) break;
+            for (int i = 0; i < read; i++) {
+                if (buf.get(i) == '\n') return pos + i + 1;
+            }
+            pos += read;
+        }
+        return size;
+    }
+
+    private static Chunk parse(FileChannel ch, long start, long end, LocalDate today) throws IOException {
+        Chunk chunk = new Chunk();
+        if (end - start > Integer.MAX_VALUE) throw new IOException("Line too long near offset " + start);
+        ByteBuffer buf = ByteBuffer.allocate((int) (end - start));
+        while (buf.hasRemaining()) {
+            if (ch.read(buf, start + buf.position()) < 0) break;
+        }
+        int limit = buf.position();
+        CsvRow row = new CsvRow();
+        int lineStart = 0;
+        for (int i = 0; i <= limit; i++) {
+            if (i < limit && buf.get(i) != '\n') continue;
+            int to = i > lineStart && buf.get(i - 1) == '\r' ? i - 1 : i;
+            if (to > lineStart) {
+                row.reset(buf, lineStart, to);
+                if (row.size() >= 8) parseRow(row, chunk, today);
+            }
+            lineStart = i + 1;
+        }
+        return chunk;
+    }
+
+    /** The stored fine (field 7) is not read: it is recomputed for {@code today}. */
+    private static void parseRow(CsvRow row, Chunk chunk, LocalDate today) {
+        int user = chunk.names.code(row.get(1).trim());
+        int book = chunk.names.code(row.get(2).trim());
+        BorrowRecord rec = new BorrowRecord(
+            row.getInt(0),
+            chunk.names.symbol(user),
+            chunk.names.symbol(book),
+            row.getDate(3),
+            Status.valueOf(row.get(4).trim())
+        );
+        rec.decisionDate = row.getDate(5);
+        rec.returnDate   = row.getDate(6);
+        rec.recalculateFine(today);
+        chunk.add(rec, user, book);
+    }
+}
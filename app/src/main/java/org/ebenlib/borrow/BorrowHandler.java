@@ -10,7 +10,7 @@ import org.ebenlib.ds.EbenLibFunction;
 import org.ebenlib.ds.EbenLibList;
 import org.ebenlib.ds.EbenLibMap;
 import org.ebenlib.ds.EbenLibMapEntry;
-import org.ebenlib.ds.EbenLibPriorityQueue;
+import org.ebenlib.ds.EbenLibTopK;
 
 import java.nio.file.Paths;
 import java.time.LocalDate;
@@ -261,7 +261,9 @@ public class BorrowHandler {
     public static void handleReturnInteractive() {
         String currentUser = AuthHandler.getCurrentUser().getUsername();
 
-        EbenLibList<BorrowRecord> borrowed = store.listByUser(currentUser).filter(r -> r.getStatus() == Status.APPROVED);
+        EbenLibList<BorrowRecord> borrowed = store.seqByUser(currentUser)
+            .filter(r -> r.getStatus() == Status.APPROVED)
+            .toList();
 
         if (borrowed.isEmpty()) {
             ConsoleUI.info("You have no approved books to return.");
@@ -297,19 +299,13 @@ public class BorrowHandler {
             .filter(r -> r.getStatus() == Status.APPROVED)
             .forEach(r -> fines.merge(r.getUser(), r.getFineOwed(), Double::sum));
 
-        EbenLibPriorityQueue<EbenLibMapEntry<String, Double>> pq = new EbenLibPriorityQueue<>(
-                EbenLibComparator.comparing((EbenLibFunction<EbenLibMapEntry<String, Double>, Double>) EbenLibMapEntry::getValue).reversed()
-            );
-
-        for (EbenLibMapEntry<String, Double> entry : fines.entrySet()) {
-            pq.offer(entry);
-        }
-
+        EbenLibList<EbenLibMapEntry<String, Double>> top = EbenLibTopK.topK(fines, topN,
+                EbenLibComparator.comparing((EbenLibFunction<EbenLibMapEntry<String, Double>, Double>) EbenLibMapEntry::getValue));
 
         ConsoleUI.header("📈 Top Debtors");
-        for (int i = 1; i <= topN && !pq.isEmpty(); i++) {
-            var e = pq.poll();
-            ConsoleUI.println(String.format("%d. %s – $%.2f", i, e.getKey(), e.getValue()), ConsoleUI.WHITE);
+        for (int i = 0; i < top.size(); i++) {
+            var e = top.get(i);
+            ConsoleUI.println(String.format("%d. %s – $%.2f", i + 1, e.getKey(), e.getValue()), ConsoleUI.WHITE);
         }
     }
 
@@ -0,0 +1,182 @@
+package org.ebenlib.borrow;
+
+import org.ebenlib.cli.ConsoleUI;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Append-only change log kept beside a borrow snapshot file.
+ *
+ * Changes are buffered as text lines and written by {@link #flush()} with
+ * one fsync for the whole batch. Compaction seals the active segment
+ * ({@code <file>.log} becomes {@code <file>.log.old}), starts a fresh one,
+ * and folds the state into a new snapshot on a background thread; the
+ * sealed segment is deleted only once that snapshot is in place. Replay
+ * therefore reads snapshot, then sealed segment (if any), then active
+ * segment, and a crash at any point leaves a readable set of files.
+ */
+class BorrowLog {
+    private static final ExecutorService COMPACTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "borrow-log-compactor");
+        t.setDaemon(true);
+        return t;
+    });
+
+    static {
+        // the worker is a daemon so it never holds the JVM open, but a snapshot
+        // being written must not be cut off: let queued compactions finish first
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                COMPACTOR.submit(() -> { }).get();
+            } catch (InterruptedException | ExecutionException e) {
+                // exiting anyway; the sealed segment is replayed on the next load
+            }
+        }, "borrow-log-drain"));
+    }
+
+    /** Writes a full snapshot; run off the calling thread by {@link #compactInBackground}. */
+    @FunctionalInterface
+    interface SnapshotWriter {
+        void write() throws IOException;
+    }
+
+    private final Path active;
+    private final Path sealed;
+    private final StringBuilder pending = new StringBuilder();
+    private FileChannel channel;
+    private Future<?> compaction;
+
+    BorrowLog(Path snapshot) {
+        this.active = snapshot.resolveSibling(snapshot.getFileName() + ".log");
+        this.sealed = snapshot.resolveSibling(snapshot.getFileName() + ".log.old");
+    }
+
+    // --- Writing ---
+
+    void append(String line) {
+        pending.append(line).append('\n');
+    }
+
+    /** Appends every buffered line to the active segment and fsyncs once. */
+    void flush() throws IOException {
+        if (pending.length() == 0) return;
+        if (channel == null) {
+            Files.createDirectories(active.toAbsolutePath().getParent());
+            channel = FileChannel.open(active, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        ByteBuffer bytes = StandardCharsets.UTF_8.encode(pending.toString());
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        channel.force(false);
+        pending.setLength(0);
+    }
+
+    /** Bytes in the active segment, including anything not yet flushed. */
+    long size() throws IOException {
+        long onDisk = channel != null ? channel.size() : Files.exists(active) ? Files.size(active) : 0;
+        return onDisk + pending.length();
+    }
+
+    // --- Reading ---
+
+    /** True if a sealed segment is left over from a compaction that did not finish. */
+    boolean hasSealed() {
+        return Files.exists(sealed);
+    }
+
+    /** Feeds every logged line, oldest first, to {@code apply}. */
+    void replay(Consumer<String> apply) throws IOException {
+        awaitCompaction();
+        for (Path segment : new Path[] { sealed, active }) {
+            if (!Files.exists(segment)) continue;
+            try (BufferedReader r = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = r.readLine()) != null) {
+                    if (!line.isEmpty()) apply.accept(line);
+                }
+            }
+        }
+    }
+
+    // --- Compaction ---
+
+    boolean compacting() {
+        return compaction != null && !compaction.isDone();
+    }
+
+    /**
+     * Seals the active segment and runs {@code writer} in the background,
+     * deleting the sealed segment after it succeeds. The writer must only
+     * read state captured before this call.
+     *
+     * @return false if a compaction was already running; the buffered lines
+     *         are then just flushed
+     */
+    boolean compactInBackground(SnapshotWriter writer) throws IOException {
+        flush();
+        if (compacting()) return false;
+        closeChannel();
+        if (Files.exists(sealed)) {
+            // a previous compaction failed: keep its segment and add ours after it
+            if (Files.exists(active)) {
+                Files.write(sealed, Files.readAllBytes(active), StandardOpenOption.APPEND);
+                Files.delete(active);
+            }
+        } else if (Files.exists(active)) {
+            Files.move(active, sealed, StandardCopyOption.ATOMIC_MOVE);
+        }
+        compaction = COMPACTOR.submit(() -> {
+            try {
+                writer.write();
+                Files.deleteIfExists(sealed);
+            } catch (IOException e) {
+                // the sealed segment stays and is replayed on the next load
+                ConsoleUI.warning("Borrow log compaction failed: " + e.getMessage());
+            }
+        });
+        return true;
+    }
+
+    /** Blocks until a running compaction (if any) has finished. */
+    void awaitCompaction() {
+        if (compaction == null) return;
+        try {
+            compaction.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            ConsoleUI.warning("Borrow log compaction failed: " + e.getCause());
+        }
+        compaction = null;
+    }
+
+    /** Drops both segments and any buffered lines, after a full snapshot has been written. */
+    void discard() throws IOException {
+        pending.setLength(0);
+        closeChannel();
+        Files.deleteIfExists(sealed);
+        Files.deleteIfExists(active);
+    }
+
+    private void closeChannel() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+}
@@ -3,7 +3,7 @@ package org.ebenlib.borrow;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 
-public class BorrowRecord {
+public class BorrowRecord implements BorrowRow {
     int id;                 // package‑private so BorrowStore can update
     String user;
     String bookId;
@@ -56,11 +56,16 @@ public class BorrowRecord {
 
     /** Compute fine only if APPROVED and overdue */
     public void recalculateFine() {
+        recalculateFine(LocalDate.now());
+    }
+
+    /** Same as {@link #recalculateFine()} as of {@code today}; bulk callers read the clock once. */
+    public void recalculateFine(LocalDate today) {
         if (status != Status.APPROVED || decisionDate == null) {
             fineOwed = 0.0;
             return;
         }
-        long daysSinceApproval = ChronoUnit.DAYS.between(decisionDate, LocalDate.now());
+        long daysSinceApproval = ChronoUnit.DAYS.between(decisionDate, today);
         long overdue = Math.max(0, daysSinceApproval - BorrowSettings.loanPeriodDays);
         fineOwed = overdue * BorrowSettings.finePerDay;
     }
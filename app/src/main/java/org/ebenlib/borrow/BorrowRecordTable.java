@@ -0,0 +1,294 @@
+package org.ebenlib.borrow;
+
+import org.ebenlib.ds.EbenLibDictionary;
+import org.ebenlib.ds.EbenLibList;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * Column-oriented borrow history held outside the Java heap.
+ *
+ * Each field is its own direct buffer: ints for the id, dictionary codes
+ * for user and book, epoch days for the three dates, one byte of status
+ * and a double fine, so a row costs 33 bytes instead of a
+ * {@link BorrowRecord} plus its Strings and LocalDates. The GC never
+ * scans the columns.
+ *
+ * Rows are read through a {@link Cursor}, a reusable flyweight that
+ * exposes the {@link BorrowRow} getters for whichever row it is on.
+ */
+public class BorrowRecordTable implements Iterable<BorrowRow> {
+    private static final int DEFAULT_CAPACITY = 1024;
+    /** Epoch-day marker for a null date. */
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final Status[] STATUSES = Status.values();
+
+    private final EbenLibDictionary userNames = new EbenLibDictionary();
+    private final EbenLibDictionary bookIds = new EbenLibDictionary();
+
+    private IntBuffer ids, users, books, requested, decided, returned;
+    private ByteBuffer statuses;
+    private DoubleBuffer fines;
+    private int size = 0;
+    private int capacity;
+    private boolean idsAscending = true;
+
+    public BorrowRecordTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public BorrowRecordTable(int initialCapacity) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + initialCapacity);
+        }
+        allocate(initialCapacity);
+    }
+
+    // --- Mutators ---
+
+    /** Appends a copy of {@code r}; returns its row number. */
+    public int append(BorrowRow r) {
+        ensureCapacity(size + 1);
+        int row = size++;
+        if (row > 0 && r.getId() <= ids.get(row - 1)) idsAscending = false;
+        ids.put(row, r.getId());
+        users.put(row, userNames.code(r.getUser()));
+        books.put(row, bookIds.code(r.getBookId()));
+        requested.put(row, day(r.getRequestDate()));
+        decided.put(row, day(r.getDecisionDate()));
+        returned.put(row, day(r.getReturnDate()));
+        statuses.put(row, (byte) r.getStatus().ordinal());
+        fines.put(row, r.getFineOwed());
+        return row;
+    }
+
+    public void setFineOwed(int row, double fine) {
+        checkRow(row);
+        fines.put(row, fine);
+    }
+
+    /**
+     * Renames user {@code from} (ignoring case) to {@code to}. Only the
+     * dictionary changes, so this is O(distinct users) however many rows
+     * refer to them.
+     *
+     * @return true if anything was renamed
+     */
+    public boolean renameUser(String from, String to) {
+        boolean changed = false;
+        for (int code = 0; code < userNames.size(); code++) {
+            if (userNames.symbol(code).equalsIgnoreCase(from)) {
+                userNames.replace(code, to);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Removes every row matching {@code filter}, compacting the columns in
+     * one pass.
+     *
+     * @return the number of rows removed
+     */
+    public int removeIf(Predicate<? super Cursor> filter) {
+        Cursor c = new Cursor();
+        int kept = 0;
+        for (int row = 0; row < size; row++) {
+            if (filter.test(c.at(row))) continue;
+            if (kept != row) moveRow(row, kept);
+            kept++;
+        }
+        int removed = size - kept;
+        size = kept;
+        return removed;
+    }
+
+    public void clear() {
+        size = 0;
+        idsAscending = true;
+        userNames.clear();
+        bookIds.clear();
+    }
+
+    // --- Accessors ---
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Row holding record {@code id}, or -1; a binary search while ids arrive in order. */
+    public int rowOf(int id) {
+        if (idsAscending) {
+            int lo = 0, hi = size - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                int v = ids.get(mid);
+                if (v < id) lo = mid + 1;
+                else if (v > id) hi = mid - 1;
+                else return mid;
+            }
+            return -1;
+        }
+        for (int row = 0; row < size; row++) {
+            if (ids.get(row) == id) return row;
+        }
+        return -1;
+    }
+
+    /** A cursor positioned before the first row; advance it with {@link Cursor#next()}. */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /** Walks the rows in order; every element is the same moving {@link Cursor}. */
+    @Override
+    public Iterator<BorrowRow> iterator() {
+        Cursor c = new Cursor();
+        return new Iterator<>() {
+            public boolean hasNext() {
+                return c.row + 1 < size;
+            }
+
+            public BorrowRow next() {
+                if (!c.next()) throw new NoSuchElementException();
+                return c;
+            }
+        };
+    }
+
+    /** Copies row {@code row} out to a new heap record. */
+    public BorrowRecord toRecord(int row) {
+        Cursor c = new Cursor().at(row);
+        BorrowRecord r = new BorrowRecord(c.getId(), c.getUser(), c.getBookId(),
+                                          c.getRequestDate(), c.getStatus());
+        r.decisionDate = c.getDecisionDate();
+        r.returnDate = c.getReturnDate();
+        r.fineOwed = c.getFineOwed();
+        return r;
+    }
+
+    /** Copies every row out to heap records, in row order. */
+    public EbenLibList<BorrowRecord> toRecords() {
+        EbenLibList<BorrowRecord> out = new EbenLibList<>(size);
+        for (int row = 0; row < size; row++) {
+            out.add(toRecord(row));
+        }
+        return out;
+    }
+
+    /**
+     * Flyweight over one row of the table. The same instance is moved from
+     * row to row, so reading a column allocates nothing except the
+     * {@link LocalDate} getters; use the {@code ...EpochDay} variants in
+     * hot loops.
+     */
+    public final class Cursor implements BorrowRow {
+        private int row = -1;
+
+        private Cursor() {}
+
+        /** Moves to the next row; false once past the end. */
+        public boolean next() {
+            if (row + 1 >= size) return false;
+            row++;
+            return true;
+        }
+
+        public Cursor at(int row) {
+            checkRow(row);
+            this.row = row;
+            return this;
+        }
+
+        public int row() {
+            return row;
+        }
+
+        @Override public int getId()           { return ids.get(row); }
+        @Override public String getUser()      { return userNames.symbol(users.get(row)); }
+        @Override public String getBookId()    { return bookIds.symbol(books.get(row)); }
+        @Override public Status getStatus()    { return STATUSES[statuses.get(row)]; }
+        @Override public double getFineOwed()  { return fines.get(row); }
+
+        @Override public LocalDate getRequestDate()  { return date(requested.get(row)); }
+        @Override public LocalDate getDecisionDate() { return date(decided.get(row)); }
+        @Override public LocalDate getReturnDate()   { return date(returned.get(row)); }
+
+        /** Epoch day of the request date, or {@link Integer#MIN_VALUE} if unset. */
+        public int getRequestEpochDay()  { return requested.get(row); }
+        public int getDecisionEpochDay() { return decided.get(row); }
+        public int getReturnEpochDay()   { return returned.get(row); }
+    }
+
+    // ─── Internal helpers ───────────────────────────────────────────────────
+
+    private static int day(LocalDate d) {
+        return d == null ? NO_DATE : Math.toIntExact(d.toEpochDay());
+    }
+
+    private static LocalDate date(int day) {
+        return day == NO_DATE ? null : LocalDate.ofEpochDay(day);
+    }
+
+    private void moveRow(int from, int to) {
+        ids.put(to, ids.get(from));
+        users.put(to, users.get(from));
+        books.put(to, books.get(from));
+        requested.put(to, requested.get(from));
+        decided.put(to, decided.get(from));
+        returned.put(to, returned.get(from));
+        statuses.put(to, statuses.get(from));
+        fines.put(to, fines.get(from));
+    }
+
+    private void ensureCapacity(int min) {
+        if (min <= capacity) return;
+        IntBuffer oldIds = ids, oldUsers = users, oldBooks = books;
+        IntBuffer oldRequested = requested, oldDecided = decided, oldReturned = returned;
+        ByteBuffer oldStatuses = statuses;
+        DoubleBuffer oldFines = fines;
+        allocate(Math.max(min, capacity + (capacity >> 1)));
+        ids.put(0, oldIds, 0, size);
+        users.put(0, oldUsers, 0, size);
+        books.put(0, oldBooks, 0, size);
+        requested.put(0, oldRequested, 0, size);
+        decided.put(0, oldDecided, 0, size);
+        returned.put(0, oldReturned, 0, size);
+        statuses.put(0, oldStatuses, 0, size);
+        fines.put(0, oldFines, 0, size);
+    }
+
+    private void allocate(int cap) {
+        ids = ints(cap);
+        users = ints(cap);
+        books = ints(cap);
+        requested = ints(cap);
+        decided = ints(cap);
+        returned = ints(cap);
+        statuses = ByteBuffer.allocateDirect(cap);
+        fines = ByteBuffer.allocateDirect(cap * Double.BYTES).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+        capacity = cap;
+    }
+
+    private static IntBuffer ints(int cap) {
+        return ByteBuffer.allocateDirect(cap * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for size " + size);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package org.ebenlib.borrow;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only view of one borrow record, implemented both by the heap
+ * {@link BorrowRecord} and by {@link BorrowRecordTable.Cursor}, so code that
+ * only reads can walk either without caring where the row lives.
+ */
+public interface BorrowRow {
+    int getId();
+    String getUser();
+    String getBookId();
+    LocalDate getRequestDate();
+    LocalDate getDecisionDate();
+    LocalDate getReturnDate();
+    Status getStatus();
+    double getFineOwed();
+}
@@ -1,6 +1,7 @@
 package org.ebenlib.borrow;
 
 import org.ebenlib.cli.ConsoleUI;
+import org.ebenlib.utils.AtomicFile;
 
 import java.io.BufferedReader;
 // import java.io.FileReader;
@@ -9,7 +10,6 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 // import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
 
 public class BorrowSettings {
 
@@ -17,6 +17,10 @@ public class BorrowSettings {
     public static double finePerDay           = 1.5;
     public static double fineBlockThreshold   = 10.0;
     public static int lowStockThreshold = 10;
+    /** Keep RETURNED records in an off-heap {@link BorrowRecordTable} instead of on the heap. */
+    public static boolean columnarHistory = false;
+    /** Append changed borrow records to a log instead of rewriting borrows.csv on every save. */
+    public static boolean writeAheadLog = false;
 
     static {
         // System.out.println("Testing");
@@ -40,6 +44,10 @@ public class BorrowSettings {
                     fineBlockThreshold = Double.parseDouble(line.split("=")[1].trim());
                 else if (line.startsWith("low_stock_threshold="))
                     lowStockThreshold = Integer.parseInt(line.split("=")[1].trim());
+                else if (line.startsWith("columnar_history="))
+                    columnarHistory = Boolean.parseBoolean(line.split("=")[1].trim());
+                else if (line.startsWith("write_ahead_log="))
+                    writeAheadLog = Boolean.parseBoolean(line.split("=")[1].trim());
             }
         } catch (IOException e) {
             ConsoleUI.error("Error loading borrow settings: " + e.getMessage());
@@ -52,6 +60,8 @@ public class BorrowSettings {
         ConsoleUI.println("  finePerDay        = ₵" + finePerDay, ConsoleUI.WHITE);
         ConsoleUI.println("  blockThreshold    = ₵" + fineBlockThreshold, ConsoleUI.WHITE);
         ConsoleUI.println("  lowStock          = " + lowStockThreshold, ConsoleUI.WHITE);
+        ConsoleUI.println("  columnarHistory   = " + columnarHistory, ConsoleUI.WHITE);
+        ConsoleUI.println("  writeAheadLog     = " + writeAheadLog, ConsoleUI.WHITE);
     }
 
 
@@ -70,6 +80,12 @@ public class BorrowSettings {
                 case "lowstock":
                     lowStockThreshold = Integer.parseInt(value);
                     break;
+                case "columnarhistory":
+                    columnarHistory = Boolean.parseBoolean(value);
+                    break;
+                case "writeaheadlog":
+                    writeAheadLog = Boolean.parseBoolean(value);
+                    break;
                 default:
                     ConsoleUI.error("Unknown setting.");
                     return false;
@@ -90,9 +106,11 @@ public class BorrowSettings {
             sb.append("fine_per_day=").append(finePerDay).append("\n");
             sb.append("fine_block_threshold=").append(fineBlockThreshold).append("\n");
             sb.append("low_stock_threshold=").append(lowStockThreshold).append("\n");
+            sb.append("columnar_history=").append(columnarHistory).append("\n");
+            sb.append("write_ahead_log=").append(writeAheadLog).append("\n");
 
             Path path = Path.of("app", "src", "main", "resources", "settings.txt");
-            Files.writeString(path, sb.toString(), StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            AtomicFile.write(path, w -> w.write(sb.toString()));
         } catch (IOException e) {
             ConsoleUI.error("Failed to save settings: " + e.getMessage());
         }
@@ -2,168 +2,483 @@ package org.ebenlib.borrow;
 
 import org.ebenlib.cli.ConsoleUI;
 import org.ebenlib.ds.EbenLibComparator;
+import org.ebenlib.ds.EbenLibDictionary;
+import org.ebenlib.ds.EbenLibHashSet;
+import org.ebenlib.ds.EbenLibIntObjectMap;
 import org.ebenlib.ds.EbenLibList;
-import org.ebenlib.ds.EbenLibMap;
+import org.ebenlib.ds.EbenLibObjectLongMap;
+import org.ebenlib.ds.EbenLibPersistentList;
 import org.ebenlib.ds.EbenLibPriorityQueue;
-import org.ebenlib.searchsort.Searcher;
+import org.ebenlib.ds.EbenLibSeq;
+import org.ebenlib.ds.EbenLibSet;
 import org.ebenlib.searchsort.Sorter;
+import org.ebenlib.utils.AtomicFile;
 
 import java.io.*;
 import java.nio.file.*;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 public class BorrowStore {
+    private static final EbenLibComparator<BorrowRecord> BY_DECISION_DATE =
+        EbenLibComparator.comparing(BorrowRecord::getDecisionDate);
+    /** Logs smaller than this are never compacted. */
+    private static final long COMPACT_MIN_BYTES = 1 << 20;
+
     private final Path file;
     private final EbenLibList<BorrowRecord> cache = new EbenLibList<>();
+    private final EbenLibIntObjectMap<BorrowRecord> byId = new EbenLibIntObjectMap<>();
+    /** APPROVED records by approval date, kept in step with status and date changes. */
+    private EbenLibPriorityQueue<BorrowRecord> onLoan = EbenLibPriorityQueue.indexed(BY_DECISION_DATE);
+    /** Immutable copy of the record list, built on demand and extended by appends. */
+    private EbenLibPersistentList<BorrowRecord> snapshot;
+    /**
+     * RETURNED records, when {@link BorrowSettings#columnarHistory} is on.
+     * They are read-only: lookups hand out detached copies.
+     */
+    private final BorrowRecordTable history = new BorrowRecordTable();
+    /** Canonical user and ISBN strings: every record's fields are these exact instances. */
+    private final EbenLibDictionary symbols = new EbenLibDictionary();
+    /** Change log used when {@link BorrowSettings#writeAheadLog} is on. */
+    private final BorrowLog log;
+    /** Records changed since the last save, by id. */
+    private final EbenLibIntObjectMap<BorrowRecord> dirty = new EbenLibIntObjectMap<>();
     private int nextId = 1;
 
     public BorrowStore(Path file) {
         this.file = file;
+        this.log = new BorrowLog(file);
     }
 
     public void load() {
+        log.awaitCompaction();
         cache.clear();
-        if (!Files.exists(file)) return;
-        try (BufferedReader r = Files.newBufferedReader(file)) {
-            String line;
-            while ((line = r.readLine()) != null) {
-                String[] p = line.split(",");
-                if (p.length < 8) continue; // new format
-                BorrowRecord rec = new BorrowRecord(
-                    Integer.parseInt(p[0].trim()),
-                    p[1].trim(),
-                    p[2].trim(),
-                    LocalDate.parse(p[3].trim()),
-                    Status.valueOf(p[4].trim())
-                );
-                // stamp optional fields
-                rec.decisionDate = p[5].trim().isEmpty() ? null : LocalDate.parse(p[5].trim());
-                rec.returnDate   = p[6].trim().isEmpty() ? null : LocalDate.parse(p[6].trim());
-                rec.fineOwed     = Double.parseDouble(p[7].trim());
-                cache.add(rec);
-                nextId = Math.max(nextId, rec.getId() + 1);
-            }
-            // ensure fines are up to date
-            cache.forEach(BorrowRecord::recalculateFine);
+        byId.clear();
+        onLoan.clear();
+        history.clear();
+        symbols.clear();
+        dirty.clear();
+        snapshot = null;
+        // one clock read for every fine computed by this load
+        LocalDate today = LocalDate.now();
+        try {
+            if (Files.exists(file)) {
+                // chunks are parsed in parallel (fines included) and merged here in file order
+                for (BorrowFileLoader.Chunk chunk : BorrowFileLoader.load(file, today)) {
+                    String[] names = chunk.canonical(symbols);
+                    cache.ensureCapacity(cache.size() + chunk.size);
+                    for (int i = 0; i < chunk.size; i++) {
+                        BorrowRecord rec = chunk.records[i];
+                        rec.user = names[chunk.users[i]];
+                        rec.bookId = names[chunk.books[i]];
+                        if (BorrowSettings.columnarHistory && rec.getStatus() == Status.RETURNED) {
+                            history.append(rec);
+                            continue;
+                        }
+                        cache.add(rec);
+                        byId.put(rec.getId(), rec);
+                    }
+                    nextId = Math.max(nextId, chunk.maxId + 1);
+                }
+            }
+            // changes logged since that snapshot
+            log.replay(line -> applyLogLine(line, today));
+            onLoan = EbenLibPriorityQueue.indexed(BY_DECISION_DATE, cache.filter(BorrowStore::isOnLoan));
+            if (log.hasSealed()) {
+                // an earlier compaction never finished: fold everything now
+                writeSnapshot(rowsInIdOrder());
+                log.discard();
+            }
         } catch (IOException e) {
             ConsoleUI.warning("Failed to load borrow store: " + e.getMessage());
         }
     }
 
+    /** Parses the eight row fields starting at {@code p[from]}. */
+    private BorrowRecord parseRow(String[] p, int from) {
+        BorrowRecord rec = new BorrowRecord(
+            Integer.parseInt(p[from].trim()),
+            symbols.intern(p[from + 1].trim()),
+            symbols.intern(p[from + 2].trim()),
+            LocalDate.parse(p[from + 3].trim()),
+            Status.valueOf(p[from + 4].trim())
+        );
+        // stamp optional fields
+        rec.decisionDate = p[from + 5].trim().isEmpty() ? null : LocalDate.parse(p[from + 5].trim());
+        rec.returnDate   = p[from + 6].trim().isEmpty() ? null : LocalDate.parse(p[from + 6].trim());
+        rec.fineOwed     = Double.parseDouble(p[from + 7].trim());
+        return rec;
+    }
+
+    /**
+     * Persists pending changes. With {@link BorrowSettings#writeAheadLog}
+     * on, only the records changed since the last save are appended to the
+     * log (one fsync per call), and the log is folded into a new snapshot in
+     * the background once it outgrows half the snapshot. Otherwise the whole
+     * file is rewritten.
+     */
     public void save() {
         try {
-            Files.createDirectories(file.getParent());
-            try (BufferedWriter w = Files.newBufferedWriter(file,
-                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
-                for (var r : cache) {
-                    w.write(String.join(",",
-                        String.valueOf(r.getId()),
-                        r.getUser(),
-                        r.getBookId(),
-                        r.getRequestDate().toString(),
-                        r.getStatus().name(),
-                        r.getDecisionDate() == null ? "" : r.getDecisionDate().toString(),
-                        r.getReturnDate()   == null ? "" : r.getReturnDate().toString(),
-                        String.valueOf(r.getFineOwed())
-                    ));
-                    w.newLine();
+            if (BorrowSettings.writeAheadLog) {
+                logChanges();
+                if (log.size() > compactThreshold()) {
+                    BorrowRecordTable frozen = freeze();
+                    log.compactInBackground(() -> writeSnapshot(frozen));
+                } else {
+                    log.flush();
                 }
+                return;
             }
+            log.awaitCompaction();
+            writeSnapshot(rowsInIdOrder());
+            log.discard();
+            dirty.clear();
         } catch (IOException e) {
             ConsoleUI.error("Failed to save borrow store: " + e.getMessage());
         }
     }
 
+    /** Buffers an {@code R} line per changed record, in id order so replayed new records land in order. */
+    private void logChanges() {
+        EbenLibList<BorrowRecord> changed = dirty.values();
+        Sorter.radixSort(changed, BorrowRecord::getId);
+        for (BorrowRecord r : changed) {
+            log.append("R," + rowToCsv(r));
+        }
+        dirty.clear();
+    }
+
+    private long compactThreshold() throws IOException {
+        long snapshotSize = Files.exists(file) ? Files.size(file) : 0;
+        return Math.max(COMPACT_MIN_BYTES, snapshotSize / 2);
+    }
+
+    /** Copies every row, in id order, into a compact table the compactor can read alone. */
+    private BorrowRecordTable freeze() {
+        BorrowRecordTable frozen = new BorrowRecordTable(Math.max(1, cache.size() + history.size()));
+        for (BorrowRow r : rowsInIdOrder()) {
+            frozen.append(r);
+        }
+        return frozen;
+    }
+
+    /** Replaces the snapshot with {@code rows}, atomically. */
+    private void writeSnapshot(Iterable<? extends BorrowRow> rows) throws IOException {
+        AtomicFile.write(file, w -> {
+            for (BorrowRow r : rows) {
+                w.write(rowToCsv(r));
+                w.newLine();
+            }
+        });
+    }
+
+    /**
+     * Live and archived rows merged back into id order. Archived rows are
+     * served through one moving cursor, so consume each before the next.
+     */
+    private Iterable<BorrowRow> rowsInIdOrder() {
+        return () -> new Iterator<>() {
+            private final BorrowRecordTable.Cursor archived = history.cursor();
+            private boolean more = archived.next();
+            private boolean onCursor = false;   // last element handed out was the cursor
+            private int i = 0;
+
+            private void settle() {
+                if (onCursor) {
+                    more = archived.next();
+                    onCursor = false;
+                }
+            }
+
+            public boolean hasNext() {
+                settle();
+                return i < cache.size() || more;
+            }
+
+            public BorrowRow next() {
+                settle();
+                if (more && (i >= cache.size() || archived.getId() < cache.get(i).getId())) {
+                    onCursor = true;
+                    return archived;
+                }
+                if (i >= cache.size()) throw new NoSuchElementException();
+                return cache.get(i++);
+            }
+        };
+    }
+
+    private static String rowToCsv(BorrowRow r) {
+        return String.join(",",
+            String.valueOf(r.getId()),
+            r.getUser(),
+            r.getBookId(),
+            r.getRequestDate().toString(),
+            r.getStatus().name(),
+            r.getDecisionDate() == null ? "" : r.getDecisionDate().toString(),
+            r.getReturnDate()   == null ? "" : r.getReturnDate().toString(),
+            String.valueOf(r.getFineOwed())
+        );
+    }
+
+    /**
+     * Replays one log line: {@code R,<row>} upserts a record (its fine
+     * recomputed for {@code today}), {@code U,<old>,<new>} renames a user,
+     * {@code P,<cutoff>} repeats a purge.
+     */
+    private void applyLogLine(String line, LocalDate today) {
+        String[] p = line.split(",", -1);
+        if (p[0].equals("R") && p.length >= 9) {
+            BorrowRecord rec = parseRow(p, 1);
+            nextId = Math.max(nextId, rec.getId() + 1);
+            BorrowRecord cur = byId.get(rec.getId());
+            if (cur != null) {
+                cur.user = rec.user;
+                cur.bookId = rec.bookId;
+                cur.requestDate = rec.requestDate;
+                cur.status = rec.status;
+                cur.decisionDate = rec.decisionDate;
+                cur.returnDate = rec.returnDate;
+                cur.recalculateFine(today);
+                return;
+            }
+            int row = history.rowOf(rec.getId());
+            if (row >= 0) {
+                history.setFineOwed(row, rec.getFineOwed());   // archived rows only change fines
+                return;
+            }
+            rec.recalculateFine(today);
+            cache.add(rec);
+            byId.put(rec.getId(), rec);
+        } else if (p[0].equals("U") && p.length >= 3) {
+            renameUser(p[1], p[2]);
+        } else if (p[0].equals("P") && p.length >= 2) {
+            purge(LocalDate.parse(p[1]));
+        } else {
+            ConsoleUI.warning("Skipping unreadable borrow log line: " + line);
+        }
+    }
+
+    /** Marks {@code rec} for the next {@link #save()}; only the log mode reads this. */
+    private void markDirty(BorrowRecord rec) {
+        dirty.put(rec.getId(), rec);
+    }
+
     public int addRequest(String user, String bookId) {
-        BorrowRecord rec = new BorrowRecord(nextId++, user, bookId, LocalDate.now(), Status.PENDING);
+        BorrowRecord rec = new BorrowRecord(nextId++, symbols.intern(user), symbols.intern(bookId),
+                                            LocalDate.now(), Status.PENDING);
         cache.add(rec);
+        byId.put(rec.getId(), rec);
+        markDirty(rec);
+        if (snapshot != null) snapshot = snapshot.plus(rec);
         return rec.getId();
     }
 
     public boolean updateStatus(int id, Status to) {
-        EbenLibComparator<BorrowRecord> byId = EbenLibComparator.comparing(BorrowRecord::getId);
-        int index = Searcher.binarySearch(cache, new BorrowRecord(id), byId);
-        if (index != -1) {
-            cache.get(index).setStatus(to);
+        BorrowRecord rec = byId.get(id);
+        if (rec != null) {
+            rec.setStatus(to);
+            track(rec);
+            markDirty(rec);
             return true;
         }
         return false;
     }
 
 
+    private static boolean isOnLoan(BorrowRecord r) {
+        return r.getStatus() == Status.APPROVED && r.getDecisionDate() != null;
+    }
+
+    /** Adds, repositions or drops {@code rec} in the on-loan queue after a change. */
+    private void track(BorrowRecord rec) {
+        boolean queued = onLoan.contains(rec);
+        if (isOnLoan(rec)) {
+            if (queued) onLoan.update(rec);
+            else onLoan.offer(rec);
+        } else if (queued) {
+            onLoan.remove(rec);
+        }
+    }
+
     public BorrowRecord findById(int id) {
-        EbenLibList<BorrowRecord> records = new EbenLibList<>(cache);
-        EbenLibComparator<BorrowRecord> comparator = EbenLibComparator.comparing(BorrowRecord::getId);
-        Sorter.mergeSort(records, comparator);
-        BorrowRecord key = new BorrowRecord(id); // assumes constructor BorrowRecord(int id)
-        int index = Searcher.binarySearch(records, key, comparator);
-        return index >= 0 ? records.get(index) : null;
+        BorrowRecord rec = byId.get(id);
+        if (rec != null) return rec;
+        int row = history.rowOf(id);
+        return row < 0 ? null : history.toRecord(row);
     }
 
     public EbenLibList<BorrowRecord> listByStatus(Status st) {
-        return cache.filter(r -> r.getStatus() == st);
+        EbenLibList<BorrowRecord> out = cache.filter(r -> r.getStatus() == st);
+        if (st == Status.RETURNED) out.addAll(history.toRecords());
+        return out;
     }
 
     public EbenLibList<BorrowRecord> listAll() {
-        return new EbenLibList<>(cache);
+        EbenLibList<BorrowRecord> out = new EbenLibList<>(cache.size() + history.size());
+        out.addAll(cache);
+        out.addAll(history.toRecords());
+        return out;
+    }
+
+    /** Visits every record, live and archived, without copying archived rows out. */
+    private void forEachRow(Consumer<BorrowRow> action) {
+        for (BorrowRecord r : cache) {
+            action.accept(r);
+        }
+        BorrowRecordTable.Cursor c = history.cursor();
+        while (c.next()) {
+            action.accept(c);
+        }
+    }
+
+    /**
+     * Cached list of all records, for reports that iterate while requests
+     * keep being added. Repeated calls are O(1) and appends share
+     * structure; a purge, rename or reload forces a rebuild.
+     *
+     * This is not a point-in-time view: live entries are the store's own
+     * records, so status, fine and date changes show through. Archived
+     * rows are copies, which is why a rename rebuilds the list.
+     */
+    public EbenLibPersistentList<BorrowRecord> snapshot() {
+        if (snapshot == null) snapshot = EbenLibPersistentList.from(listAll());
+        return snapshot;
     }
 
     public EbenLibList<BorrowRecord> listByUser(String user) {
-        return cache.filter(r -> r.getUser().equalsIgnoreCase(user));
+        EbenLibList<String> names = spellingsOf(user);
+        EbenLibList<BorrowRecord> out = cache.filter(r -> isOneOf(r.getUser(), names));
+        BorrowRecordTable.Cursor c = history.cursor();
+        while (c.next()) {
+            if (isOneOf(c.getUser(), names)) out.add(history.toRecord(c.row()));
+        }
+        return out;
     }
 
-    /** Builds a PQ of overdue records (earliest approval first) */
-    public EbenLibPriorityQueue<BorrowRecord> getOverdueQueue(int overdueDays) {
-        LocalDate threshold = LocalDate.now().minusDays(overdueDays);
-        EbenLibComparator<BorrowRecord> comp =
-            EbenLibComparator.comparing(BorrowRecord::getDecisionDate);
+    /**
+     * Lazy view of this user's live records, for chaining further stages
+     * without copies. Archived RETURNED rows carry no fine and are skipped.
+     */
+    public EbenLibSeq<BorrowRecord> seqByUser(String user) {
+        EbenLibList<String> names = spellingsOf(user);
+        return cache.seq().filter(r -> isOneOf(r.getUser(), names));
+    }
 
-        EbenLibPriorityQueue<BorrowRecord> pq = new EbenLibPriorityQueue<>(comp);
+    /**
+     * The stored spellings of {@code user} (usually one), so rows can be
+     * matched case-insensitively by reference instead of by equalsIgnoreCase.
+     */
+    private EbenLibList<String> spellingsOf(String user) {
+        return symbols.findIgnoreCase(user);
+    }
 
-        for (BorrowRecord r : cache) {
-            if (r.getStatus() == Status.APPROVED &&
-                r.getDecisionDate() != null &&
-                r.getDecisionDate().isBefore(threshold)) {
-                pq.offer(r);
-            }
+    private static boolean isOneOf(String interned, EbenLibList<String> names) {
+        for (int i = 0; i < names.size(); i++) {
+            if (names.get(i) == interned) return true;
         }
-        return pq;
+        return false;
+    }
+
+    /** Builds a PQ of overdue records (earliest approval first) */
+    public EbenLibPriorityQueue<BorrowRecord> getOverdueQueue(int overdueDays) {
+        LocalDate threshold = LocalDate.now().minusDays(overdueDays);
+        // only the overdue prefix of the live queue is visited
+        EbenLibList<BorrowRecord> overdue =
+            onLoan.headWhile(r -> r.getDecisionDate().isBefore(threshold));
+        return new EbenLibPriorityQueue<>(BY_DECISION_DATE, overdue);
     }
 
 
     /** Total fine across all APPROVED (not yet returned) records for this user */
     public double getTotalFineForUser(String username) {
+        EbenLibList<String> names = spellingsOf(username);
         return cache.stream()
-            .filter(r -> r.getUser().equalsIgnoreCase(username)
+            .filter(r -> isOneOf(r.getUser(), names)
                       && r.getStatus() == Status.APPROVED)
             .mapToDouble(BorrowRecord::getFineOwed)
             .sum();
     }
     
-    public EbenLibMap<String, Long> countBorrowsByUser() {
-        EbenLibMap<String, Long> counts = EbenLibMap.empty();
-        for (BorrowRecord r : cache) {
+    public EbenLibObjectLongMap<String> countBorrowsByUser() {
+        EbenLibObjectLongMap<String> counts = new EbenLibObjectLongMap<>();
+        forEachRow(r -> {
             if (r.getStatus() == Status.APPROVED || r.getStatus() == Status.RETURNED) {
-                String user = r.getUser();
-                Long previous = counts.get(user);
-                if (previous == null) previous = 0L;
-                counts.put(user, previous + 1L);
+                counts.increment(r.getUser());
             }
-        }
+        });
+        return counts;
+    }
+
+    /** Number of requests per book ISBN, across all statuses. */
+    public EbenLibObjectLongMap<String> countBorrowsByBook() {
+        EbenLibObjectLongMap<String> counts = new EbenLibObjectLongMap<>();
+        forEachRow(r -> counts.increment(r.getBookId()));
         return counts;
     }
 
+    /**
+     * Deletes RETURNED records whose return date is before {@code cutoff},
+     * in a single compaction pass over the cache. In log mode the purge is
+     * logged as one {@code P} line, after the changes made before it, so
+     * replay removes exactly the same records.
+     *
+     * @return the number of records removed
+     */
+    public int purgeReturnedBefore(LocalDate cutoff) {
+        if (BorrowSettings.writeAheadLog) logChanges();
+        int removed = purge(cutoff);
+        if (removed > 0 && BorrowSettings.writeAheadLog) log.append("P," + cutoff);
+        return removed;
+    }
+
+    private int purge(LocalDate cutoff) {
+        int before = cache.size();
+        snapshot = null;
+        long cutoffDay = cutoff.toEpochDay();
+        int archived = history.removeIf(c ->
+            c.getReturnEpochDay() != Integer.MIN_VALUE && c.getReturnEpochDay() < cutoffDay);
+        cache.removeIf(r -> {
+            boolean old = r.getStatus() == Status.RETURNED
+                && r.getReturnDate() != null
+                && r.getReturnDate().isBefore(cutoff);
+            if (old) {
+                byId.remove(r.getId());
+                dirty.remove(r.getId());
+            }
+            return old;
+        });
+        return archived + before - cache.size();
+    }
+
+    /** ISBNs referenced by borrow records but missing from {@code knownIsbns}. */
+    public EbenLibHashSet<String> unknownBookIds(EbenLibSet<String> knownIsbns) {
+        EbenLibHashSet<String> referenced = new EbenLibHashSet<>(cache.size());
+        forEachRow(r -> referenced.add(r.getBookId()));
+        return referenced.difference(knownIsbns);
+    }
+
     public long countByBook(String bookId) {
-        return cache.stream()
-            .filter(r -> r.getBookId().equals(bookId))
-            .count();
+        String key = symbols.find(bookId);
+        if (key == null) return 0;
+        long[] n = { 0 };
+        forEachRow(r -> {
+            if (r.getBookId() == key) n[0]++;
+        });
+        return n[0];
     }
 
     public long countReturnedByBook(String bookId) {
-        return cache.stream()
-            .filter(r -> r.getBookId().equals(bookId) && r.getStatus() == Status.RETURNED)
-            .count();
+        String key = symbols.find(bookId);
+        if (key == null) return 0;
+        long[] n = { 0 };
+        forEachRow(r -> {
+            if (r.getBookId() == key && r.getStatus() == Status.RETURNED) n[0]++;
+        });
+        return n[0];
     }
 
     public void refreshAllFines() {
@@ -174,27 +489,45 @@ public class BorrowStore {
                     r.getDecisionDate().plusDays(BorrowSettings.loanPeriodDays),
                     now
                 );
-                r.fineOwed = daysOverdue > 0 ? daysOverdue * BorrowSettings.finePerDay : 0.0;
+                double fine = daysOverdue > 0 ? daysOverdue * BorrowSettings.finePerDay : 0.0;
+                if (fine != r.fineOwed) {
+                    r.fineOwed = fine;
+                    markDirty(r);
+                }
             }
         }
         save();
     }
 
     public void updateUsername(String oldUsername, String newUsername) {
+        renameUser(oldUsername, newUsername);
+        if (BorrowSettings.writeAheadLog) log.append("U," + oldUsername + "," + newUsername);
+        save(); // persist the changes
+    }
+
+    private void renameUser(String oldUsername, String newUsername) {
+        EbenLibList<String> names = spellingsOf(oldUsername);
+        String renamed = symbols.intern(newUsername);
         for (BorrowRecord r : cache) {
-            if (r.getUser().equalsIgnoreCase(oldUsername)) {
-                r.setUser(newUsername); // you’ll need to allow mutation or rebuild record
+            if (isOneOf(r.getUser(), names)) {
+                r.setUser(renamed); // you’ll need to allow mutation or rebuild record
             }
         }
-        save(); // persist the changes
+        history.renameUser(oldUsername, renamed);
+        snapshot = null;
     }
 
     public double calculateFine(String username) {
-        return listByUser(username).stream().mapToDouble(BorrowRecord::getFineOwed).sum();
+        return seqByUser(username).reduce(0.0, (sum, r) -> sum + r.getFineOwed());
     }
 
     public void clearFine(String username) {
-        listByUser(username).forEach(r -> r.setFineOwed(0.0));
+        for (BorrowRecord r : listByUser(username)) {
+            if (r.getFineOwed() != 0.0) {
+                r.setFineOwed(0.0);
+                markDirty(r);
+            }
+        }
         save();
     }
 
@@ -204,6 +537,7 @@ public class BorrowStore {
             if (f > 0) {
                 double deduction = Math.min(f, amount);
                 r.setFineOwed(f - deduction);
+                markDirty(r);
                 amount -= deduction;
                 if (amount <= 0) break;
             }
@@ -213,11 +547,17 @@ public class BorrowStore {
 
     public void updateApproveDate(String username, LocalDate date) {
         for (BorrowRecord r : listByUser(username)) {
+            LocalDate before = r.getDecisionDate();
+            double fine = r.getFineOwed();
             r.setApproveDate(date); 
             r.recalculateFine();   
             if (r.getFineOwed() > 0) {
                 r.setApproveDate(date);
             }
+            // archived history comes back as copies; only log the ones that changed
+            if (Objects.equals(before, r.getDecisionDate()) && fine == r.getFineOwed()) continue;
+            track(r);
+            markDirty(r);
         }
         save();
     }
@@ -0,0 +1,431 @@
+package org.ebenlib.ds;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Stable sort kernels over a range of an {@code Object[]}, shared by
+ * {@link EbenLibList#sort} and {@link EbenLibList#parallelSort}.
+ */
+final class ArraySort {
+    /** Ranges at or below this size are sorted by insertion sort. */
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+    /** Natural runs shorter than about this length are extended by insertion sort. */
+    private static final int MIN_MERGE = 32;
+    /** Consecutive wins from one run before a merge switches to galloping. */
+    private static final int MIN_GALLOP = 7;
+    /** Ranges at or below this size are not split across threads. */
+    private static final int PARALLEL_CUTOFF = 1 << 13;
+
+    private ArraySort() {}
+
+    /**
+     * Stable natural-run merge sort (TimSort-style) of {@code a[from, to)}.
+     *
+     * Already ascending or strictly descending stretches are detected and used
+     * as runs, so pre-sorted input costs O(n). Short runs are padded with binary
+     * insertion sort, merges first gallop to trim elements that are already in
+     * place (skipping the merge entirely when two runs are in order), and a
+     * single auxiliary buffer of at most n/2 slots is allocated for the whole sort.
+     */
+    static <T> void sort(Object[] a, int from, int to, EbenLibComparator<T> comparator) {
+        int n = to - from;
+        if (n < 2) return;
+        if (n <= INSERTION_SORT_THRESHOLD) {
+            int run = countRunAndMakeAscending(a, from, to, comparator);
+            binaryInsertionSort(a, from, to, from + run, comparator);
+            return;
+        }
+        RunMerger<T> merger = new RunMerger<>(a, n, comparator);
+        int minRun = minRunLength(n);
+        int lo = from;
+        int remaining = n;
+        do {
+            int runLen = countRunAndMakeAscending(a, lo, to, comparator);
+            if (runLen < minRun) {
+                int force = Math.min(remaining, minRun);
+                binaryInsertionSort(a, lo, lo + force, lo + runLen, comparator);
+                runLen = force;
+            }
+            merger.pushRun(lo, runLen);
+            merger.mergeCollapse();
+            lo += runLen;
+            remaining -= runLen;
+        } while (remaining != 0);
+        merger.mergeForceCollapse();
+    }
+
+    /**
+     * Sorts {@code a[from, to)} stably, in parallel when the range is large enough.
+     * Uses a single scratch array for the whole sort; recursion levels
+     * alternate between it and {@code a} instead of allocating per level.
+     */
+    static <T> void parallelSort(Object[] a, int from, int to, EbenLibComparator<T> comparator) {
+        int n = to - from;
+        if (n <= PARALLEL_CUTOFF || ForkJoinPool.getCommonPoolParallelism() <= 1) {
+            sort(a, from, to, comparator);
+            return;
+        }
+        Object[] scratch = new Object[n];
+        System.arraycopy(a, from, scratch, 0, n);
+        ForkJoinPool.commonPool().invoke(new SortTask<>(scratch, 0, a, from, n, comparator));
+    }
+
+    // ─── Merge sort internals ───────────────────────────────────────────────
+
+    /**
+     * Sorts {@code n} elements into {@code dst[dLo..]}, using {@code src[sLo..]}
+     * (which holds the same elements on entry) as the buffer for the halves.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> void pingPongSort(Object[] src, int sLo, Object[] dst, int dLo, int n,
+                                         EbenLibComparator<T> c) {
+        if (n <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(dst, dLo, dLo + n, c);
+            return;
+        }
+        int half = n >>> 1;
+        // sort each half into src, using dst as their buffer
+        pingPongSort(dst, dLo, src, sLo, half, c);
+        pingPongSort(dst, dLo + half, src, sLo + half, n - half, c);
+        mergeRuns(src, sLo, sLo + half, sLo + half, sLo + n, dst, dLo, c);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void insertionSort(Object[] a, int lo, int hi, EbenLibComparator<T> c) {
+        for (int i = lo + 1; i < hi; i++) {
+            T x = (T) a[i];
+            int j = i - 1;
+            while (j >= lo && c.compare((T) a[j], x) > 0) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = x;
+        }
+    }
+
+    /** Stable merge of the sorted runs src[lo1,hi1) and src[lo2,hi2) into dst[d..]. */
+    @SuppressWarnings("unchecked")
+    private static <T> void mergeRuns(Object[] src, int lo1, int hi1, int lo2, int hi2,
+                                      Object[] dst, int d, EbenLibComparator<T> c) {
+        // already in order: a straight copy is enough
+        if (lo1 < hi1 && lo2 < hi2 && c.compare((T) src[hi1 - 1], (T) src[lo2]) <= 0) {
+            System.arraycopy(src, lo1, dst, d, hi1 - lo1);
+            System.arraycopy(src, lo2, dst, d + (hi1 - lo1), hi2 - lo2);
+            return;
+        }
+        int i = lo1, j = lo2;
+        while (i < hi1 && j < hi2) {
+            dst[d++] = c.compare((T) src[i], (T) src[j]) <= 0 ? src[i++] : src[j++];
+        }
+        if (i < hi1) System.arraycopy(src, i, dst, d, hi1 - i);
+        if (j < hi2) System.arraycopy(src, j, dst, d, hi2 - j);
+    }
+
+    // ─── Natural-run sort internals ─────────────────────────────────────────
+
+    /**
+     * Length of the run starting at {@code lo}; a strictly descending run is
+     * reversed in place (strictness keeps the sort stable).
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> int countRunAndMakeAscending(Object[] a, int lo, int hi, EbenLibComparator<T> c) {
+        int runHi = lo + 1;
+        if (runHi == hi) return 1;
+        if (c.compare((T) a[runHi++], (T) a[lo]) < 0) {
+            while (runHi < hi && c.compare((T) a[runHi], (T) a[runHi - 1]) < 0) runHi++;
+            for (int i = lo, j = runHi - 1; i < j; i++, j--) {
+                Object t = a[i];
+                a[i] = a[j];
+                a[j] = t;
+            }
+        } else {
+            while (runHi < hi && c.compare((T) a[runHi], (T) a[runHi - 1]) >= 0) runHi++;
+        }
+        return runHi - lo;
+    }
+
+    /** Insertion sort of a[lo,hi) where a[lo,start) is already sorted. */
+    @SuppressWarnings("unchecked")
+    private static <T> void binaryInsertionSort(Object[] a, int lo, int hi, int start, EbenLibComparator<T> c) {
+        if (start == lo) start++;
+        for (; start < hi; start++) {
+            Object pivot = a[start];
+            int pos = upperBound(a, lo, start, (T) pivot, c);
+            System.arraycopy(a, pos, a, pos + 1, start - pos);
+            a[pos] = pivot;
+        }
+    }
+
+    /** Minimum run length: n itself when small, else a value in [16, 32] that keeps merges balanced. */
+    private static int minRunLength(int n) {
+        int r = 0;
+        while (n >= MIN_MERGE) {
+            r |= (n & 1);
+            n >>= 1;
+        }
+        return n + r;
+    }
+
+    /**
+     * Exponential-then-binary search for the first index k in [0, len) of
+     * a[base..] with a[base+k] &gt;= key (or &gt; key when {@code strict}),
+     * returning len if there is none. Starts from whichever end is given,
+     * so it costs O(log d) where d is the distance of the answer from that end.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> int gallop(T key, Object[] a, int base, int len, boolean strict,
+                                  boolean fromRight, EbenLibComparator<T> c) {
+        int lo, hi;
+        if (!fromRight) {
+            lo = 0;
+            int probe = 0, step = 1;
+            while (probe < len && !holds(c.compare((T) a[base + probe], key), strict)) {
+                lo = probe + 1;
+                probe += step;
+                step <<= 1;
+            }
+            hi = Math.min(probe, len);
+        } else {
+            hi = len;
+            int probe = len - 1, step = 1;
+            while (probe >= 0 && holds(c.compare((T) a[base + probe], key), strict)) {
+                hi = probe;
+                probe -= step;
+                step <<= 1;
+            }
+            lo = Math.max(probe + 1, 0);
+        }
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (holds(c.compare((T) a[base + mid], key), strict)) hi = mid; else lo = mid + 1;
+        }
+        return lo;
+    }
+
+    private static boolean holds(int cmp, boolean strict) {
+        return strict ? cmp > 0 : cmp >= 0;
+    }
+
+    /** The pending-run stack and merge buffer of one {@link #sort} call. */
+    private static final class RunMerger<T> {
+        private final Object[] a;
+        private final EbenLibComparator<T> c;
+        private final int maxBuffer;
+        private Object[] tmp;
+        private final int[] runBase = new int[49];
+        private final int[] runLen = new int[49];
+        private int stackSize = 0;
+
+        RunMerger(Object[] a, int n, EbenLibComparator<T> c) {
+            this.a = a;
+            this.c = c;
+            this.maxBuffer = (n >>> 1) + 1;
+        }
+
+        void pushRun(int base, int len) {
+            runBase[stackSize] = base;
+            runLen[stackSize] = len;
+            stackSize++;
+        }
+
+        /** Merges runs until the stack lengths shrink geometrically, bounding its depth. */
+        void mergeCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] <= runLen[n] + runLen[n + 1]
+                        || n > 1 && runLen[n - 2] <= runLen[n] + runLen[n - 1]) {
+                    if (runLen[n - 1] < runLen[n + 1]) n--;
+                } else if (runLen[n] > runLen[n + 1]) {
+                    break;
+                }
+                mergeAt(n);
+            }
+        }
+
+        void mergeForceCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] < runLen[n + 1]) n--;
+                mergeAt(n);
+            }
+        }
+
+        /** Merges stack runs i and i+1. */
+        @SuppressWarnings("unchecked")
+        private void mergeAt(int i) {
+            int base1 = runBase[i], len1 = runLen[i];
+            int base2 = runBase[i + 1], len2 = runLen[i + 1];
+            runLen[i] = len1 + len2;
+            if (i == stackSize - 3) {
+                runBase[i + 1] = runBase[i + 2];
+                runLen[i + 1] = runLen[i + 2];
+            }
+            stackSize--;
+
+            // elements of run1 not greater than run2's head are already in place
+            int k = gallop((T) a[base2], a, base1, len1, true, false, c);
+            base1 += k;
+            len1 -= k;
+            if (len1 == 0) return;
+            // likewise run2's elements not less than run1's tail
+            len2 = gallop((T) a[base1 + len1 - 1], a, base2, len2, false, true, c);
+            if (len2 == 0) return;
+
+            if (tmp == null) tmp = new Object[maxBuffer];
+            if (len1 <= len2) mergeLo(base1, len1, base2, len2);
+            else mergeHi(base1, len1, base2, len2);
+        }
+
+        /** Forward merge with run1 (the shorter) copied to the buffer. */
+        @SuppressWarnings("unchecked")
+        private void mergeLo(int base1, int len1, int base2, int len2) {
+            System.arraycopy(a, base1, tmp, 0, len1);
+            int c1 = 0, c2 = base2, end2 = base2 + len2, d = base1;
+            int wins1 = 0, wins2 = 0;
+            while (c1 < len1 && c2 < end2) {
+                if (c.compare((T) a[c2], (T) tmp[c1]) < 0) {
+                    a[d++] = a[c2++];
+                    wins1 = 0;
+                    if (++wins2 >= MIN_GALLOP && c2 < end2) {
+                        int k = gallop((T) tmp[c1], a, c2, end2 - c2, false, false, c);
+                        System.arraycopy(a, c2, a, d, k);
+                        d += k;
+                        c2 += k;
+                        wins2 = 0;
+                    }
+                } else {
+                    a[d++] = tmp[c1++];
+                    wins2 = 0;
+                    if (++wins1 >= MIN_GALLOP && c1 < len1) {
+                        int k = gallop((T) a[c2], tmp, c1, len1 - c1, true, false, c);
+                        System.arraycopy(tmp, c1, a, d, k);
+                        d += k;
+                        c1 += k;
+                        wins1 = 0;
+                    }
+                }
+            }
+            // leftover run2 elements are already in their final slots
+            if (c1 < len1) System.arraycopy(tmp, c1, a, d, len1 - c1);
+        }
+
+        /** Backward merge with run2 (the shorter) copied to the buffer. */
+        @SuppressWarnings("unchecked")
+        private void mergeHi(int base1, int len1, int base2, int len2) {
+            System.arraycopy(a, base2, tmp, 0, len2);
+            int c1 = base1 + len1 - 1, c2 = len2 - 1, d = base2 + len2 - 1;
+            int wins1 = 0, wins2 = 0;
+            while (c1 >= base1 && c2 >= 0) {
+                if (c.compare((T) tmp[c2], (T) a[c1]) < 0) {
+                    a[d--] = a[c1--];
+                    wins2 = 0;
+                    if (++wins1 >= MIN_GALLOP && c1 >= base1) {
+                        int k = gallop((T) tmp[c2], a, base1, c1 - base1 + 1, true, true, c);
+                        int count = c1 - base1 + 1 - k;
+                        System.arraycopy(a, base1 + k, a, d - count + 1, count);
+                        d -= count;
+                        c1 -= count;
+                        wins1 = 0;
+                    }
+                } else {
+                    a[d--] = tmp[c2--];
+                    wins1 = 0;
+                    if (++wins2 >= MIN_GALLOP && c2 >= 0) {
+                        int k = gallop((T) a[c1], tmp, 0, c2 + 1, false, true, c);
+                        int count = c2 + 1 - k;
+                        System.arraycopy(tmp, k, a, d - count + 1, count);
+                        d -= count;
+                        c2 -= count;
+                        wins2 = 0;
+                    }
+                }
+            }
+            // leftover run1 elements are already in their final slots
+            if (c2 >= 0) System.arraycopy(tmp, 0, a, d - c2, c2 + 1);
+        }
+    }
+
+    /** First index in a[lo,hi) whose element is not less than {@code key}. */
+    @SuppressWarnings("unchecked")
+    private static <T> int lowerBound(Object[] a, int lo, int hi, T key, EbenLibComparator<T> c) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (c.compare((T) a[mid], key) < 0) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    /** First index in a[lo,hi) whose element is greater than {@code key}. */
+    @SuppressWarnings("unchecked")
+    private static <T> int upperBound(Object[] a, int lo, int hi, T key, EbenLibComparator<T> c) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (c.compare((T) a[mid], key) <= 0) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    /** Fork/join version of {@link #pingPongSort}. */
+    @SuppressWarnings("serial")   // never serialized
+    private static final class SortTask<T> extends RecursiveAction {
+        private final Object[] src, dst;
+        private final int sLo, dLo, n;
+        private final EbenLibComparator<T> c;
+
+        SortTask(Object[] src, int sLo, Object[] dst, int dLo, int n, EbenLibComparator<T> c) {
+            this.src = src; this.sLo = sLo; this.dst = dst; this.dLo = dLo; this.n = n; this.c = c;
+        }
+
+        @Override
+        protected void compute() {
+            if (n <= PARALLEL_CUTOFF) {
+                pingPongSort(src, sLo, dst, dLo, n, c);
+                return;
+            }
+            int half = n >>> 1;
+            invokeAll(new SortTask<>(dst, dLo, src, sLo, half, c),
+                      new SortTask<>(dst, dLo + half, src, sLo + half, n - half, c));
+            new MergeTask<>(src, sLo, sLo + half, sLo + half, sLo + n, dst, dLo, c).compute();
+        }
+    }
+
+    /**
+     * Parallel stable merge: splits the longer run at its midpoint, finds the
+     * matching split in the other run by binary search, and merges both
+     * halves independently.
+     */
+    @SuppressWarnings("serial")
+    private static final class MergeTask<T> extends RecursiveAction {
+        private final Object[] src, dst;
+        private final int lo1, hi1, lo2, hi2, d;
+        private final EbenLibComparator<T> c;
+
+        MergeTask(Object[] src, int lo1, int hi1, int lo2, int hi2, Object[] dst, int d, EbenLibComparator<T> c) {
+            this.src = src; this.lo1 = lo1; this.hi1 = hi1; this.lo2 = lo2; this.hi2 = hi2;
+            this.dst = dst; this.d = d; this.c = c;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected void compute() {
+            int n1 = hi1 - lo1, n2 = hi2 - lo2;
+            if (n1 + n2 <= PARALLEL_CUTOFF) {
+                mergeRuns(src, lo1, hi1, lo2, hi2, dst, d, c);
+                return;
+            }
+            int m1, m2;
+            if (n1 >= n2) {
+                // right-run elements equal to the pivot stay after it
+                m1 = (lo1 + hi1) >>> 1;
+                m2 = lowerBound(src, lo2, hi2, (T) src[m1], c);
+            } else {
+                // left-run elements equal to the pivot stay before it
+                m2 = (lo2 + hi2) >>> 1;
+                m1 = upperBound(src, lo1, hi1, (T) src[m2], c);
+            }
+            invokeAll(new MergeTask<>(src, lo1, m1, lo2, m2, dst, d, c),
+                      new MergeTask<>(src, m1, hi1, m2, hi2, dst, d + (m1 - lo1) + (m2 - lo2), c));
+        }
+    }
+}
@@ -57,6 +57,19 @@ public interface EbenLibComparator<T> {
         );
     }
 
+    /**
+     * Case-folds {@code s} so that plain {@code compareTo} (and {@code equals})
+     * on folded strings agrees with {@link String#CASE_INSENSITIVE_ORDER} on
+     * the originals.
+     */
+    static String fold(String s) {
+        char[] cs = s.toCharArray();
+        for (int i = 0; i < cs.length; i++) {
+            cs[i] = Character.toLowerCase(Character.toUpperCase(cs[i]));
+        }
+        return new String(cs);
+    }
+
     /** Reverse the order of _this_ comparator. */
     default EbenLibComparator<T> reversed() {
         return (a, b) -> this.compare(b, a);
@@ -0,0 +1,337 @@
+package org.ebenlib.ds;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+
+/**
+ * A thread-safe hash map using lock striping.
+ *
+ * Buckets are split across a fixed set of stripes, each guarded by its own
+ * lock, so writers to different stripes never block each other. Reads take
+ * no lock: the table, chain links and values are volatile, and a resize
+ * builds fresh nodes instead of relinking old ones, so a reader walking a
+ * stale table still sees a consistent chain.
+ *
+ * {@link #merge}, {@link #computeIfAbsent} and {@link #putIfAbsent} run
+ * atomically under the key's stripe lock. Views and iteration are weakly
+ * consistent snapshots. Null keys and values are not allowed.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+@SuppressWarnings("unchecked")
+public class EbenLibConcurrentMap<K, V> implements Iterable<EbenLibMapEntry<K, V>> {
+    private static final int STRIPES = 16;              // power of two
+    private static final int INITIAL_CAPACITY = 16;     // >= STRIPES, power of two
+    private static final double LOAD_FACTOR = 0.75;
+
+    private volatile Node<K, V>[] table;
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    private final AtomicInteger size = new AtomicInteger();
+
+    private static final class Node<K, V> {
+        final int hash;
+        final K key;
+        volatile V value;
+        volatile Node<K, V> next;
+
+        Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    public EbenLibConcurrentMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /** Constructs a map able to hold {@code expectedSize} entries without resizing. */
+    public EbenLibConcurrentMap(int expectedSize) {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity * LOAD_FACTOR < expectedSize) {
+            capacity <<= 1;
+        }
+        table = (Node<K, V>[]) new Node<?, ?>[capacity];
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * The table length is a power of two no smaller than STRIPES, so a
+     * bucket's stripe is fixed by the low hash bits across resizes.
+     */
+    private ReentrantLock lockFor(int hash) {
+        return locks[hash & (STRIPES - 1)];
+    }
+
+    private static <K, V> Node<K, V> find(Node<K, V>[] tab, int h, Object key) {
+        for (Node<K, V> n = tab[h & (tab.length - 1)]; n != null; n = n.next) {
+            if (n.hash == h && (n.key == key || n.key.equals(key))) return n;
+        }
+        return null;
+    }
+
+    private static void requireNonNull(Object o, String what) {
+        if (o == null) throw new IllegalArgumentException("Null " + what + "s are not supported");
+    }
+
+    // --- Mutators ---
+
+    /**
+     * Associates the specified value with the specified key.
+     * Returns the old value, or null if none.
+     */
+    public V put(K key, V value) {
+        return putVal(key, value, false);
+    }
+
+    /** Maps {@code key} to {@code value} unless already present; returns the existing value or null. */
+    public V putIfAbsent(K key, V value) {
+        return putVal(key, value, true);
+    }
+
+    private V putVal(K key, V value, boolean onlyIfAbsent) {
+        requireNonNull(key, "key");
+        requireNonNull(value, "value");
+        int h = hash(key);
+        ReentrantLock lock = lockFor(h);
+        V old;
+        lock.lock();
+        try {
+            Node<K, V>[] tab = table;
+            Node<K, V> n = find(tab, h, key);
+            if (n != null) {
+                old = n.value;
+                if (!onlyIfAbsent) n.value = value;
+                return old;
+            }
+            link(tab, h, key, value);
+        } finally {
+            lock.unlock();
+        }
+        afterInsert();
+        return null;
+    }
+
+    /**
+     * Atomically combines {@code value} with the current mapping using
+     * {@code remappingFunction}, or inserts {@code value} if the key is
+     * absent. A null result removes the mapping.
+     *
+     * @return the new value, or null if removed
+     */
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        requireNonNull(key, "key");
+        requireNonNull(value, "value");
+        int h = hash(key);
+        ReentrantLock lock = lockFor(h);
+        lock.lock();
+        try {
+            Node<K, V>[] tab = table;
+            Node<K, V> n = find(tab, h, key);
+            if (n != null) {
+                V merged = remappingFunction.apply(n.value, value);
+                if (merged == null) {
+                    unlinkLocked(tab, h, key);
+                } else {
+                    n.value = merged;
+                }
+                return merged;
+            }
+            link(tab, h, key, value);
+        } finally {
+            lock.unlock();
+        }
+        afterInsert();
+        return value;
+    }
+
+    /**
+     * Returns the value for {@code key}, computing and storing it first if
+     * absent. The function runs at most once per absent key, under the
+     * stripe lock, so it should be short and must not touch this map.
+     */
+    public V computeIfAbsent(K key, EbenLibFunction<? super K, ? extends V> mappingFunction) {
+        requireNonNull(key, "key");
+        int h = hash(key);
+        Node<K, V> hit = find(table, h, key);
+        if (hit != null) return hit.value;   // fast path, no lock
+        ReentrantLock lock = lockFor(h);
+        V value;
+        lock.lock();
+        try {
+            Node<K, V>[] tab = table;
+            Node<K, V> n = find(tab, h, key);
+            if (n != null) return n.value;
+            value = mappingFunction.apply(key);
+            if (value == null) return null;
+            link(tab, h, key, value);
+        } finally {
+            lock.unlock();
+        }
+        afterInsert();
+        return value;
+    }
+
+    /**
+     * Removes the mapping for the specified key if present.
+     * Returns the previous value, or null if none.
+     */
+    public V remove(K key) {
+        if (key == null) return null;
+        int h = hash(key);
+        ReentrantLock lock = lockFor(h);
+        lock.lock();
+        try {
+            return unlinkLocked(table, h, key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Removes all mappings. Not atomic with respect to concurrent writers. */
+    public void clear() {
+        for (ReentrantLock lock : locks) {
+            lock.lock();
+        }
+        try {
+            table = (Node<K, V>[]) new Node<?, ?>[INITIAL_CAPACITY];
+            size.set(0);
+        } finally {
+            for (ReentrantLock lock : locks) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /** Prepends a node; caller holds the stripe lock. */
+    private void link(Node<K, V>[] tab, int h, K key, V value) {
+        int idx = h & (tab.length - 1);
+        tab[idx] = new Node<>(h, key, value, tab[idx]);
+        // the volatile table write publishes the new bucket head to readers
+        table = tab;
+        size.incrementAndGet();
+    }
+
+    /** Caller holds the stripe lock. */
+    private V unlinkLocked(Node<K, V>[] tab, int h, Object key) {
+        int idx = h & (tab.length - 1);
+        Node<K, V> prev = null;
+        for (Node<K, V> n = tab[idx]; n != null; prev = n, n = n.next) {
+            if (n.hash == h && n.key.equals(key)) {
+                if (prev == null) tab[idx] = n.next; else prev.next = n.next;
+                table = tab;
+                size.decrementAndGet();
+                return n.value;
+            }
+        }
+        return null;
+    }
+
+    private void afterInsert() {
+        if (size.get() > table.length * LOAD_FACTOR) {
+            resize();
+        }
+    }
+
+    /** Doubles the table under every stripe lock, copying nodes so readers of the old table are unaffected. */
+    private void resize() {
+        for (ReentrantLock lock : locks) {
+            lock.lock();
+        }
+        try {
+            Node<K, V>[] old = table;
+            if (size.get() <= old.length * LOAD_FACTOR) return;  // another thread got here first
+            Node<K, V>[] tab = (Node<K, V>[]) new Node<?, ?>[old.length * 2];
+            int mask = tab.length - 1;
+            for (Node<K, V> bucket : old) {
+                for (Node<K, V> n = bucket; n != null; n = n.next) {
+                    int idx = n.hash & mask;
+                    tab[idx] = new Node<>(n.hash, n.key, n.value, tab[idx]);
+                }
+            }
+            table = tab;
+        } finally {
+            for (ReentrantLock lock : locks) {
+                lock.unlock();
+            }
+        }
+    }
+
+    // --- Accessors ---
+
+    /** Returns the value to which the specified key is mapped, or null if none. Never blocks. */
+    public V get(K key) {
+        if (key == null) return null;
+        Node<K, V> n = find(table, hash(key), key);
+        return n == null ? null : n.value;
+    }
+
+    /** Returns the value or default if key not present. */
+    public V getOrDefault(K key, V defaultValue) {
+        V v = get(key);
+        return v == null ? defaultValue : v;
+    }
+
+    /** Returns true if this map contains a mapping for the key. */
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    /** @return number of key-value mappings (a moment-in-time estimate under contention). */
+    public int size() {
+        return size.get();
+    }
+
+    /** @return true if no mappings. */
+    public boolean isEmpty() {
+        return size.get() == 0;
+    }
+
+    // --- Views ---
+
+    /** Returns a list of keys in this map. */
+    public EbenLibList<K> keySet() {
+        EbenLibList<K> out = new EbenLibList<>(size());
+        for (Node<K, V> bucket : table) {
+            for (Node<K, V> n = bucket; n != null; n = n.next) out.add(n.key);
+        }
+        return out;
+    }
+
+    /** Returns a list of values in this map. */
+    public EbenLibList<V> values() {
+        EbenLibList<V> out = new EbenLibList<>(size());
+        for (Node<K, V> bucket : table) {
+            for (Node<K, V> n = bucket; n != null; n = n.next) out.add(n.value);
+        }
+        return out;
+    }
+
+    /** Returns the mappings as detached entries; setting their values does not write through. */
+    public EbenLibList<EbenLibMapEntry<K, V>> entrySet() {
+        EbenLibList<EbenLibMapEntry<K, V>> out = new EbenLibList<>(size());
+        for (Node<K, V> bucket : table) {
+            for (Node<K, V> n = bucket; n != null; n = n.next) {
+                out.add(new EbenLibMapEntry<>(n.key, n.value));
+            }
+        }
+        return out;
+    }
+
+    /** Iterates over a snapshot of the entries; never throws on concurrent modification. */
+    @Override
+    public Iterator<EbenLibMapEntry<K, V>> iterator() {
+        return entrySet().iterator();
+    }
+}
@@ -0,0 +1,242 @@
+package org.ebenlib.ds;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A thread-safe list for read-mostly data.
+ *
+ * Every write copies the backing array under a lock and publishes the new
+ * array through a volatile field; reads never lock and always see one
+ * complete version. Iterators, streams and {@link #snapshot()} work on the
+ * version current when they were created and never see later writes.
+ *
+ * Writes cost O(n), so this suits lists that are read far more often than
+ * they change (user lists, settings, lookup tables).
+ *
+ * @param <T> the element type
+ */
+@SuppressWarnings("unchecked")
+public class EbenLibCopyOnWriteList<T> implements Iterable<T> {
+    private static final Object[] EMPTY = new Object[0];
+
+    private final Object lock = new Object();
+    private volatile Object[] array = EMPTY;
+
+    public EbenLibCopyOnWriteList() {
+    }
+
+    /** Constructs a list holding the elements of {@code other}, in order. */
+    public EbenLibCopyOnWriteList(EbenLibList<? extends T> other) {
+        Object[] a = new Object[other.size()];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = other.get(i);
+        }
+        array = a;
+    }
+
+    // --- Mutators ---
+
+    public void add(T item) {
+        synchronized (lock) {
+            Object[] a = array;
+            Object[] b = Arrays.copyOf(a, a.length + 1);
+            b[a.length] = item;
+            array = b;
+        }
+    }
+
+    public void add(int index, T item) {
+        synchronized (lock) {
+            Object[] a = array;
+            if (index < 0 || index > a.length) {
+                throw new IndexOutOfBoundsException("Index " + index);
+            }
+            Object[] b = new Object[a.length + 1];
+            System.arraycopy(a, 0, b, 0, index);
+            b[index] = item;
+            System.arraycopy(a, index, b, index + 1, a.length - index);
+            array = b;
+        }
+    }
+
+    /**
+     * Appends {@code item} unless an equal element is already present; the
+     * check and the append are atomic.
+     *
+     * @return true if added
+     */
+    public boolean addIfAbsent(T item) {
+        synchronized (lock) {
+            if (indexOf(array, item) >= 0) return false;
+            add(item);
+            return true;
+        }
+    }
+
+    public T set(int index, T item) {
+        synchronized (lock) {
+            Object[] a = array;
+            checkIndex(index, a.length);
+            T old = (T) a[index];
+            Object[] b = a.clone();
+            b[index] = item;
+            array = b;
+            return old;
+        }
+    }
+
+    public T remove(int index) {
+        synchronized (lock) {
+            Object[] a = array;
+            checkIndex(index, a.length);
+            T old = (T) a[index];
+            array = without(a, index);
+            return old;
+        }
+    }
+
+    public boolean remove(T item) {
+        synchronized (lock) {
+            Object[] a = array;
+            int i = indexOf(a, item);
+            if (i < 0) return false;
+            array = without(a, i);
+            return true;
+        }
+    }
+
+    /**
+     * Removes all elements matching {@code pred} with a single copy.
+     *
+     * @return true if any element was removed
+     */
+    public boolean removeIf(Predicate<T> pred) {
+        synchronized (lock) {
+            Object[] a = array;
+            Object[] kept = new Object[a.length];
+            int n = 0;
+            for (Object o : a) {
+                if (!pred.test((T) o)) kept[n++] = o;
+            }
+            if (n == a.length) return false;
+            array = Arrays.copyOf(kept, n);
+            return true;
+        }
+    }
+
+    /** Replaces the whole contents in one step; readers see either the old or the new list. */
+    public void replaceAll(EbenLibList<? extends T> items) {
+        Object[] a = new Object[items.size()];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = items.get(i);
+        }
+        synchronized (lock) {
+            array = a;
+        }
+    }
+
+    public void clear() {
+        synchronized (lock) {
+            array = EMPTY;
+        }
+    }
+
+    // --- Accessors ---
+
+    public T get(int index) {
+        Object[] a = array;
+        checkIndex(index, a.length);
+        return (T) a[index];
+    }
+
+    public int size() {
+        return array.length;
+    }
+
+    public boolean isEmpty() {
+        return array.length == 0;
+    }
+
+    public boolean contains(T item) {
+        return indexOf(array, item) >= 0;
+    }
+
+    public int indexOf(T item) {
+        return indexOf(array, item);
+    }
+
+    /** Returns a private, mutable copy of the current contents. */
+    public EbenLibList<T> snapshot() {
+        Object[] a = array;
+        EbenLibList<T> out = new EbenLibList<>(a.length);
+        for (Object o : a) {
+            out.add((T) o);
+        }
+        return out;
+    }
+
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(array, Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+
+    /** Iterates over the version current at the time of the call. */
+    @Override
+    public Iterator<T> iterator() {
+        Object[] a = array;
+        return new Iterator<T>() {
+            private int pos = 0;
+            public boolean hasNext() {
+                return pos < a.length;
+            }
+            public T next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return (T) a[pos++];
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(array);
+    }
+
+    // ─── Internal helpers ───────────────────────────────────────────────────
+
+    private static int indexOf(Object[] a, Object item) {
+        for (int i = 0; i < a.length; i++) {
+            if (item == null ? a[i] == null : item.equals(a[i])) return i;
+        }
+        return -1;
+    }
+
+    private static Object[] without(Object[] a, int index) {
+        Object[] b = new Object[a.length - 1];
+        System.arraycopy(a, 0, b, 0, index);
+        System.arraycopy(a, index + 1, b, index, a.length - index - 1);
+        return b;
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                "Index " + index + " out of bounds for size " + size
+            );
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package org.ebenlib.ds;
+
+/**
+ * A symbol table that gives each distinct string one canonical instance
+ * and a dense int code (0, 1, 2, ... in first-seen order).
+ *
+ * Loaders run repeated column values (usernames, ISBNs, categories)
+ * through {@link #intern} so a million rows share a few thousand Strings,
+ * and equal values become identical references: callers that hold the
+ * canonical instance can compare with {@code ==}. Columnar stores keep the
+ * {@link #code} instead and turn it back with {@link #symbol}.
+ *
+ * Not thread-safe.
+ */
+public class EbenLibDictionary {
+    private final EbenLibList<String> symbols;
+    private final EbenLibMap<String, Integer> codes;
+    /** Case-folded symbol to its codes, ascending, for {@link #findIgnoreCase}. */
+    private final EbenLibMap<String, EbenLibList<Integer>> folded;
+
+    public EbenLibDictionary() {
+        symbols = new EbenLibList<>();
+        codes = new EbenLibMap<>();
+        folded = new EbenLibMap<>();
+    }
+
+    /** Constructs a dictionary able to hold {@code expectedSize} symbols without resizing. */
+    public EbenLibDictionary(int expectedSize) {
+        symbols = new EbenLibList<>(expectedSize);
+        codes = new EbenLibMap<>(expectedSize);
+        folded = new EbenLibMap<>(expectedSize);
+    }
+
+    // --- Mutators ---
+
+    /** Code of {@code s}, adding it if new. */
+    public int code(String s) {
+        if (s == null) throw new IllegalArgumentException("Null symbols are not supported");
+        Integer code = codes.get(s);
+        if (code == null) {
+            code = symbols.size();
+            symbols.add(s);
+            codes.put(s, code);
+            foldedCodes(s).add(code);
+        }
+        return code;
+    }
+
+    /** The canonical instance equal to {@code s}, adding {@code s} itself if new. Null passes through. */
+    public String intern(String s) {
+        return s == null ? null : symbols.get(code(s));
+    }
+
+    /**
+     * Points {@code code} at a new string, e.g. for a rename; every holder
+     * of the code sees the new value. If {@code to} is already a symbol,
+     * {@link #code} keeps returning its original code.
+     */
+    public void replace(int code, String to) {
+        if (to == null) throw new IllegalArgumentException("Null symbols are not supported");
+        String from = symbols.set(code, to);
+        Integer owner = codes.get(from);
+        if (owner != null && owner == code) codes.remove(from);
+        if (!codes.containsKey(to)) codes.put(to, code);
+        foldedCodes(from).remove(Integer.valueOf(code));
+        EbenLibList<Integer> same = foldedCodes(to);
+        int at = 0;
+        while (at < same.size() && same.get(at) < code) at++;
+        same.add(at, code);
+    }
+
+    public void clear() {
+        symbols.clear();
+        codes.clear();
+        folded.clear();
+    }
+
+    // --- Accessors ---
+
+    /** The string for {@code code}. */
+    public String symbol(int code) {
+        return symbols.get(code);
+    }
+
+    /** Code of {@code s}, or -1 if it was never added. */
+    public int lookup(String s) {
+        Integer code = s == null ? null : codes.get(s);
+        return code == null ? -1 : code;
+    }
+
+    /** Canonical instance equal to {@code s}, or null if it was never added. */
+    public String find(String s) {
+        int code = lookup(s);
+        return code < 0 ? null : symbols.get(code);
+    }
+
+    /** Canonical instances equal to {@code s} ignoring case, in code order. One hash lookup. */
+    public EbenLibList<String> findIgnoreCase(String s) {
+        EbenLibList<String> out = new EbenLibList<>();
+        if (s == null) return out;
+        EbenLibList<Integer> same = folded.get(EbenLibComparator.fold(s));
+        if (same == null) return out;
+        for (int code : same) {
+            out.add(symbols.get(code));
+        }
+        return out;
+    }
+
+    public int size() {
+        return symbols.size();
+    }
+
+    public boolean isEmpty() {
+        return symbols.isEmpty();
+    }
+
+    // ─── Internal helpers ───────────────────────────────────────────────────
+
+    private EbenLibList<Integer> foldedCodes(String s) {
+        String key = EbenLibComparator.fold(s);
+        EbenLibList<Integer> same = folded.get(key);
+        if (same == null) {
+            same = new EbenLibList<>(1);
+            folded.put(key, same);
+        }
+        return same;
+    }
+}
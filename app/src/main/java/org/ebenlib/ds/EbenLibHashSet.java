@@ -1,45 +1,31 @@
 package org.ebenlib.ds;
 
 import java.util.Iterator;
-import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
- * A hash-based Set using separate chaining and our EbenLibList for buckets.
+ * A hash-based Set backed by an {@link EbenLibMap} whose values are a
+ * shared marker, so it inherits the map's spread hashing, node-relinking
+ * resize and tree bins. {@link #add} is a single map lookup.
+ *
+ * Bulk operations size the table once up front, which keeps large dedup
+ * passes (e.g. million-row CSV columns) free of repeated rehashing.
  */
-@SuppressWarnings("unchecked")
 public class EbenLibHashSet<T> implements EbenLibSet<T> {
-    private static final int DEFAULT_CAPACITY = 16;
-    private static final double LOAD_FACTOR = 0.75;
+    private static final Object PRESENT = new Object();
 
-    private EbenLibList<T>[] buckets;
-    private int size = 0;
+    private final EbenLibMap<T, Object> map;
 
     public EbenLibHashSet() {
-        initBuckets(DEFAULT_CAPACITY);
+        map = new EbenLibMap<>();
     }
 
-    private void initBuckets(int capacity) {
-        buckets = new EbenLibList[capacity];
-        for (int i = 0; i < capacity; i++) {
-            buckets[i] = new EbenLibList<>();
-        }
-        size = 0;
-    }
-
-    private int bucketIndex(T item) {
-        return (item == null ? 0 : Math.abs(item.hashCode())) % buckets.length;
-    }
-
-    private void maybeResize() {
-        if (size + 1 > buckets.length * LOAD_FACTOR) {
-            EbenLibList<T>[] old = buckets;
-            initBuckets(buckets.length * 2);
-            for (EbenLibList<T> bucket : old) {
-                for (T item : bucket) {
-                    add(item);
-                }
-            }
-        }
+    /** Constructs a set able to hold {@code expectedSize} elements without resizing. */
+    public EbenLibHashSet(int expectedSize) {
+        map = new EbenLibMap<>(expectedSize);
     }
 
     /**
@@ -47,7 +33,16 @@ public class EbenLibHashSet<T> implements EbenLibSet<T> {
      */
     @SafeVarargs
     public static <T> EbenLibHashSet<T> of(T... items) {
-        EbenLibHashSet<T> set = new EbenLibHashSet<>();
+        EbenLibHashSet<T> set = new EbenLibHashSet<>(items.length);
+        for (T item : items) {
+            set.add(item);
+        }
+        return set;
+    }
+
+    /** Creates a set of the distinct elements of {@code items}, sized once. */
+    public static <T> EbenLibHashSet<T> from(EbenLibList<? extends T> items) {
+        EbenLibHashSet<T> set = new EbenLibHashSet<>(items.size());
         for (T item : items) {
             set.add(item);
         }
@@ -57,73 +52,177 @@ public class EbenLibHashSet<T> implements EbenLibSet<T> {
 
     @Override
     public boolean add(T item) {
-        if (contains(item)) return false;
-        maybeResize();
-        buckets[bucketIndex(item)].add(item);
-        size++;
-        return true;
+        return map.put(item, PRESENT) == null;
     }
 
     @Override
     public boolean remove(T item) {
-        EbenLibList<T> bucket = buckets[bucketIndex(item)];
-        for (int i = 0; i < bucket.size(); i++) {
-            T e = bucket.get(i);
-            if ((e == null && item == null) || (e != null && e.equals(item))) {
-                bucket.remove(i);
-                size--;
-                return true;
-            }
-        }
-        return false;
+        return map.remove(item) != null;
     }
 
     @Override
     public boolean contains(T item) {
-        EbenLibList<T> bucket = buckets[bucketIndex(item)];
-        for (T e : bucket) {
-            if ((e == null && item == null) || (e != null && e.equals(item))) {
-                return true;
-            }
-        }
-        return false;
+        return map.containsKey(item);
     }
 
     @Override
     public int size() {
-        return size;
+        return map.size();
     }
 
     @Override
     public boolean isEmpty() {
-        return size == 0;
+        return map.isEmpty();
     }
 
     @Override
     public void clear() {
-        initBuckets(DEFAULT_CAPACITY);
+        map.clear();
+    }
+
+    // --- Bulk operations ---
+
+    /**
+     * Adds every element of {@code items}, growing the table at most once
+     * when their count is known.
+     *
+     * @return true if the set changed
+     */
+    public boolean addAll(Iterable<? extends T> items) {
+        if (items instanceof EbenLibSet<?> other) {
+            map.ensureCapacity(size() + other.size());
+        } else if (items instanceof EbenLibList<?> list) {
+            map.ensureCapacity(size() + list.size());
+        }
+        boolean changed = false;
+        for (T item : items) {
+            changed |= add(item);
+        }
+        return changed;
+    }
+
+    /** True if every element of {@code items} is in this set. */
+    public boolean containsAll(Iterable<? extends T> items) {
+        for (T item : items) {
+            if (!contains(item)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Removes every element of {@code items}.
+     *
+     * @return true if the set changed
+     */
+    public boolean removeAll(Iterable<? extends T> items) {
+        boolean changed = false;
+        for (T item : items) {
+            changed |= remove(item);
+        }
+        return changed;
+    }
+
+    /**
+     * Keeps only the elements also in {@code other}, in one pass over this set.
+     *
+     * @return true if the set changed
+     */
+    public boolean retainAll(EbenLibSet<? super T> other) {
+        return map.removeIf(e -> !other.contains(e.getKey()));
+    }
+
+    /** A new set holding the elements of this set and {@code other}. */
+    public EbenLibHashSet<T> union(EbenLibSet<? extends T> other) {
+        EbenLibHashSet<T> out = new EbenLibHashSet<>(size() + other.size());
+        out.addAll(this);
+        out.addAll(other);
+        return out;
+    }
+
+    /** A new set holding the elements in both this set and {@code other}. */
+    public EbenLibHashSet<T> intersection(EbenLibSet<T> other) {
+        // probe the larger set with the smaller one
+        EbenLibSet<T> small = size() <= other.size() ? this : other;
+        EbenLibSet<T> large = small == this ? other : this;
+        EbenLibHashSet<T> out = new EbenLibHashSet<>(small.size());
+        for (T item : small) {
+            if (large.contains(item)) out.add(item);
+        }
+        return out;
     }
 
+    /** A new set holding the elements of this set that are not in {@code other}. */
+    public EbenLibHashSet<T> difference(EbenLibSet<T> other) {
+        EbenLibHashSet<T> out = new EbenLibHashSet<>(size());
+        for (T item : this) {
+            if (!other.contains(item)) out.add(item);
+        }
+        return out;
+    }
+
+    // --- Iteration ---
+
     @Override
     public Iterator<T> iterator() {
+        Iterator<EbenLibMapEntry<T, Object>> it = map.iterator();
         return new Iterator<>() {
-            int bucketIdx = 0;
-            Iterator<T> listIter = buckets[0].iterator();
-
             @Override
             public boolean hasNext() {
-                while (!listIter.hasNext() && bucketIdx < buckets.length - 1) {
-                    bucketIdx++;
-                    listIter = buckets[bucketIdx].iterator();
-                }
-                return listIter.hasNext();
+                return it.hasNext();
             }
 
             @Override
             public T next() {
-                if (!hasNext()) throw new NoSuchElementException();
-                return listIter.next();
+                return it.next().getKey();
             }
         };
     }
+
+    /** Splits on the backing map's bucket ranges; only the unsplit root reports SIZED. */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new KeySpliterator<>(map.spliterator());
+    }
+
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    private static final class KeySpliterator<T> implements Spliterator<T> {
+        private final Spliterator<EbenLibMapEntry<T, Object>> entries;
+
+        KeySpliterator(Spliterator<EbenLibMapEntry<T, Object>> entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            return entries.tryAdvance(e -> action.accept(e.getKey()));
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            entries.forEachRemaining(e -> action.accept(e.getKey()));
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            Spliterator<EbenLibMapEntry<T, Object>> prefix = entries.trySplit();
+            return prefix == null ? null : new KeySpliterator<>(prefix);
+        }
+
+        @Override
+        public long estimateSize() {
+            return entries.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return entries.characteristics() & ~NONNULL;
+        }
+    }
 }
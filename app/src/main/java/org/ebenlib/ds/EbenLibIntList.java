@@ -0,0 +1,160 @@
+package org.ebenlib.ds;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * A growable list of primitive {@code int}s (an unboxed {@link EbenLibList}).
+ */
+public class EbenLibIntList {
+    private int[] elements;
+    private int size;
+
+    /**
+     * Constructs an empty list with initial capacity 10.
+     */
+    public EbenLibIntList() {
+        this(10);
+    }
+
+    /**
+     * Constructs an empty list able to hold {@code initialCapacity} values without growing.
+     */
+    public EbenLibIntList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Negative capacity: " + initialCapacity);
+        }
+        elements = new int[initialCapacity];
+    }
+
+    /**
+     * Creates a list containing the given values, in order.
+     */
+    public static EbenLibIntList of(int... values) {
+        EbenLibIntList list = new EbenLibIntList(values.length);
+        System.arraycopy(values, 0, list.elements, 0, values.length);
+        list.size = values.length;
+        return list;
+    }
+
+    /**
+     * Appends {@code value} to the end of the list.
+     */
+    public void add(int value) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(10, elements.length * 2));
+        }
+        elements[size++] = value;
+    }
+
+    /**
+     * Returns the value at position {@code index}.
+     *
+     * @throws IndexOutOfBoundsException if index is out of [0, size)
+     */
+    public int get(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    /**
+     * Replaces the value at {@code index}, returning the old one.
+     *
+     * @throws IndexOutOfBoundsException if index is out of [0, size)
+     */
+    public int set(int index, int value) {
+        checkIndex(index);
+        int old = elements[index];
+        elements[index] = value;
+        return old;
+    }
+
+    /**
+     * Removes the value at {@code index}, shifting later values left.
+     */
+    public int removeAt(int index) {
+        checkIndex(index);
+        int old = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        return old;
+    }
+
+    /** @return the index of the first occurrence of {@code value}, or -1. */
+    public int indexOf(int value) {
+        for (int i = 0; i < size; i++) {
+            if (elements[i] == value) return i;
+        }
+        return -1;
+    }
+
+    /** @return true if the list contains {@code value}. */
+    public boolean contains(int value) {
+        return indexOf(value) >= 0;
+    }
+
+    /** @return the number of values in this list */
+    public int size() {
+        return size;
+    }
+
+    /** @return true if this list contains no values */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Removes all values, keeping the current capacity. */
+    public void clear() {
+        size = 0;
+    }
+
+    /** Sorts the values in ascending order. */
+    public void sort() {
+        Arrays.sort(elements, 0, size);
+    }
+
+    /** Applies {@code action} to each value in order. */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(elements[i]);
+        }
+    }
+
+    /** @return an unboxed iterator over the values */
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int pos = 0;
+
+            @Override
+            public boolean hasNext() {
+                return pos < size;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return elements[pos++];
+            }
+        };
+    }
+
+    /** @return a trimmed copy of the values */
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                "Index " + index + " out of bounds for size " + size
+            );
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
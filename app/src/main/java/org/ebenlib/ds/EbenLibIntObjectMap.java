@@ -0,0 +1,177 @@
+package org.ebenlib.ds;
+
+/**
+ * A hash map from primitive {@code int} keys to objects, using open
+ * addressing over parallel arrays so keys are never boxed. Probing and
+ * deletion come from {@link ProbeTable}.
+ *
+ * A slot is empty when its value is null, so null values are not allowed.
+ *
+ * @param <V> value type
+ */
+@SuppressWarnings("unchecked")
+public class EbenLibIntObjectMap<V> extends ProbeTable {
+    private int[] keys;
+    private Object[] vals;
+
+    /** Receives each key/value pair from {@link #forEach}. */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(int key, V value);
+    }
+
+    public EbenLibIntObjectMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /** Constructs a map able to hold {@code expectedSize} entries without resizing. */
+    public EbenLibIntObjectMap(int expectedSize) {
+        init(capacityFor(expectedSize));
+    }
+
+    @Override
+    void allocate(int capacity) {
+        keys = new int[capacity];
+        vals = new Object[capacity];
+    }
+
+    @Override
+    int capacity() {
+        return keys.length;
+    }
+
+    @Override
+    boolean isFree(int slot) {
+        return vals[slot] == null;
+    }
+
+    @Override
+    int hashAt(int slot) {
+        return hash(keys[slot]);
+    }
+
+    @Override
+    void moveSlot(int from, int to) {
+        keys[to] = keys[from];
+        vals[to] = vals[from];
+    }
+
+    @Override
+    void freeSlot(int slot) {
+        vals[slot] = null;
+    }
+
+    /** Fibonacci hashing; sequential ids spread evenly across the table. */
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private int indexOf(int key) {
+        int m = keys.length - 1;
+        int i = hash(key) & m;
+        while (vals[i] != null) {
+            if (keys[i] == key) return i;
+            i = (i + 1) & m;
+        }
+        return -1;
+    }
+
+    // --- Mutators ---
+
+    /**
+     * Associates {@code value} with {@code key}. Returns the old value, or null if none.
+     *
+     * @throws IllegalArgumentException if value is null
+     */
+    public V put(int key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported");
+        }
+        int m = keys.length - 1;
+        int i = hash(key) & m;
+        while (vals[i] != null) {
+            if (keys[i] == key) {
+                V old = (V) vals[i];
+                vals[i] = value;
+                return old;
+            }
+            i = (i + 1) & m;
+        }
+        keys[i] = key;
+        vals[i] = value;
+        if (++size > threshold) {
+            resize();
+        }
+        return null;
+    }
+
+    private void resize() {
+        int[] oldKeys = keys;
+        Object[] oldVals = vals;
+        init(oldKeys.length * 2);
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldVals[j] == null) continue;
+            int i = firstFree(hash(oldKeys[j]));
+            keys[i] = oldKeys[j];
+            vals[i] = oldVals[j];
+        }
+    }
+
+    /**
+     * Removes the mapping for {@code key}. Returns the previous value, or null if none.
+     */
+    public V remove(int key) {
+        int i = indexOf(key);
+        if (i < 0) return null;
+        V old = (V) vals[i];
+        deleteSlot(i);
+        return old;
+    }
+
+    // --- Accessors ---
+
+    /** Returns the value mapped to {@code key}, or null if none. */
+    public V get(int key) {
+        int i = indexOf(key);
+        return i >= 0 ? (V) vals[i] : null;
+    }
+
+    /** Returns the value or default if key not present. */
+    public V getOrDefault(int key, V defaultValue) {
+        int i = indexOf(key);
+        return i >= 0 ? (V) vals[i] : defaultValue;
+    }
+
+    /** Returns true if this map contains a mapping for the key. */
+    public boolean containsKey(int key) {
+        return indexOf(key) >= 0;
+    }
+
+    // --- Views ---
+
+    /** Returns the keys of this map, in table order. */
+    public EbenLibIntList keys() {
+        EbenLibIntList out = new EbenLibIntList(size);
+        for (int i = 0; i < keys.length; i++) {
+            if (vals[i] != null) out.add(keys[i]);
+        }
+        return out;
+    }
+
+    /** Returns the values of this map, in table order. */
+    public EbenLibList<V> values() {
+        EbenLibList<V> out = new EbenLibList<>();
+        for (Object v : vals) {
+            if (v != null) out.add((V) v);
+        }
+        return out;
+    }
+
+    /** Applies {@code action} to every mapping, without boxing the keys. */
+    public void forEach(EntryConsumer<? super V> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (vals[i] != null) action.accept(keys[i], (V) vals[i]);
+        }
+    }
+}
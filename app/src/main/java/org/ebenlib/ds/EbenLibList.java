@@ -3,8 +3,11 @@ package org.ebenlib.ds;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * A growable, index‑based list implementation (ArrayList‑like).
@@ -13,6 +16,8 @@ import java.util.stream.Stream;
  */
 @SuppressWarnings("unchecked")
 public class EbenLibList<T> implements Iterable<T> {
+    private static final int DEFAULT_CAPACITY = 10;
+
     private Object[] elements;
     private int size;
 
@@ -20,7 +25,21 @@ public class EbenLibList<T> implements Iterable<T> {
      * Constructs an empty list with initial capacity 10.
      */
     public EbenLibList() {
-        elements = new Object[10];
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty list that can hold {@code initialCapacity}
+     * elements before it has to grow.
+     *
+     * @param initialCapacity starting capacity
+     * @throws IllegalArgumentException if initialCapacity is negative
+     */
+    public EbenLibList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        elements = new Object[initialCapacity];
         size = 0;
     }
 
@@ -36,15 +55,15 @@ public class EbenLibList<T> implements Iterable<T> {
     }
 
     public EbenLibList<T> skip(int n) {
-        EbenLibList<T> result = new EbenLibList<>();
-        for (int i = n; i < this.size(); i++) {
-            result.add(this.get(i));
-        }
+        int from = Math.min(Math.max(n, 0), size);
+        EbenLibList<T> result = new EbenLibList<>(size - from);
+        System.arraycopy(elements, from, result.elements, 0, size - from);
+        result.size = size - from;
         return result;
     }
 
     public static <T> EbenLibList<T> from(T[] input) {
-        EbenLibList<T> out = new EbenLibList<>();
+        EbenLibList<T> out = new EbenLibList<>(input.length);
         for (T val : input) {
             out.add(val);
         }
@@ -55,7 +74,7 @@ public class EbenLibList<T> implements Iterable<T> {
     public void add(int index, T element) {
         if (index < 0 || index > size) 
             throw new IndexOutOfBoundsException("Index " + index);
-        ensureCapacity();
+        ensureCapacity(size + 1);
         // shift right
         System.arraycopy(elements, index, elements, index + 1, size - index);
         elements[index] = element;
@@ -67,6 +86,33 @@ public class EbenLibList<T> implements Iterable<T> {
         return Arrays.stream((T[])elements, 0, size);
     }
 
+    /**
+     * Like {@link #stream()}, but may split the backing array across the
+     * common ForkJoinPool.
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Returns a lazy view of this list: chained filter/map/skip/limit calls
+     * run in one pass at the terminal operation, with no intermediate lists.
+     *
+     * @return a sequence over the current elements
+     */
+    public EbenLibSeq<T> seq() {
+        return EbenLibSeq.of(spliterator());
+    }
+
+    /**
+     * Splits directly over the backing array, so parallel pipelines divide
+     * the list by index range.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(elements, 0, size, Spliterator.ORDERED);
+    }
+
     /**
      * Creates a list containing the given items, in order.
      *
@@ -76,7 +122,7 @@ public class EbenLibList<T> implements Iterable<T> {
      */
     @SafeVarargs
     public static <T> EbenLibList<T> of(T... items) {
-        EbenLibList<T> list = new EbenLibList<>();
+        EbenLibList<T> list = new EbenLibList<>(items.length);
         for (T item : items) {
             list.add(item);
         }
@@ -89,19 +135,50 @@ public class EbenLibList<T> implements Iterable<T> {
      * @param item the element to add
      */
     public void add(T item) {
-        ensureCapacity();
+        if (size == elements.length) grow(size + 1);
         elements[size++] = item;
     }
 
+    /**
+     * Appends every element of {@code other}, growing at most once.
+     *
+     * @param other the list to append
+     */
+    public void addAll(EbenLibList<? extends T> other) {
+        int n = other.size;
+        ensureCapacity(size + n);
+        System.arraycopy(other.elements, 0, elements, size, n);
+        size += n;
+    }
+
     /**
      * Removes all elements from the list.
-     * Resets to initial capacity.
+     * Keeps the current capacity; call {@link #trimToSize()} to release it.
      */
     public void clear() {
-        elements = new Object[10];
+        Arrays.fill(elements, 0, size, null);
         size = 0;
     }
 
+    /**
+     * Makes sure the list can hold {@code minCapacity} elements without
+     * growing again. Callers that know the final size up front (e.g. a
+     * file's line count) should call this once instead of relying on
+     * repeated doubling.
+     *
+     * @param minCapacity the capacity needed
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > elements.length) grow(minCapacity);
+    }
+
+    /** Shrinks the backing array to the current size. */
+    public void trimToSize() {
+        if (elements.length > size) {
+            elements = Arrays.copyOf(elements, size);
+        }
+    }
+
     /**
      * Removes all elements matching {@code pred}.
      *
@@ -119,10 +196,51 @@ public class EbenLibList<T> implements Iterable<T> {
                 removed = true;
             }
         }
+        Arrays.fill(elements, writeIndex, size, null); // help GC
         size = writeIndex;
         return removed;
     }
 
+    /**
+     * Removes every element contained in {@code items}, in one pass.
+     *
+     * @param items elements to remove
+     * @return true if any element was removed
+     */
+    public boolean removeAll(Iterable<?> items) {
+        EbenLibSet<Object> drop = toSet(items);
+        return removeIf(drop::contains);
+    }
+
+    /**
+     * Keeps only the elements contained in {@code items}, in one pass.
+     *
+     * @param items elements to keep
+     * @return true if any element was removed
+     */
+    public boolean retainAll(Iterable<?> items) {
+        EbenLibSet<Object> keep = toSet(items);
+        return removeIf(t -> !keep.contains(t));
+    }
+
+    /**
+     * Removes the elements from {@code fromIndex} (inclusive) to
+     * {@code toIndex} (exclusive) with a single shift of the tail.
+     *
+     * @throws IndexOutOfBoundsException if indices are invalid
+     */
+    public void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException(
+                "fromIndex=" + fromIndex + ", toIndex=" + toIndex + ", size=" + size
+            );
+        }
+        System.arraycopy(elements, toIndex, elements, fromIndex, size - toIndex);
+        int newSize = size - (toIndex - fromIndex);
+        Arrays.fill(elements, newSize, size, null); // help GC
+        size = newSize;
+    }
+
 
     public T remove(int index) {
         if (index < 0 || index >= size) {
@@ -130,30 +248,21 @@ public class EbenLibList<T> implements Iterable<T> {
         }
 
         T removed = (T) elements[index];
-
-        for (int i = index; i < size - 1; i++) {
-            elements[i] = elements[i + 1];
-        }
-
-        elements[--size] = null; // Help GC
+        fastRemove(index);
         return removed;
     }
 
 
     public boolean remove(T item) {
-    for (int i = 0; i < size; i++) {
-        T current = (T) elements[i];
-        if ((current == null && item == null) || (current != null && current.equals(item))) {
-            // shift left
-            for (int j = i; j < size - 1; j++) {
-                elements[j] = elements[j + 1];
+        for (int i = 0; i < size; i++) {
+            T current = (T) elements[i];
+            if ((current == null && item == null) || (current != null && current.equals(item))) {
+                fastRemove(i);
+                return true;
             }
-            elements[--size] = null; // help GC
-            return true;
         }
+        return false;
     }
-    return false;
-}
 
 
 
@@ -213,10 +322,9 @@ public class EbenLibList<T> implements Iterable<T> {
                 "fromIndex=" + fromIndex + ", toIndex=" + toIndex + ", size=" + size
             );
         }
-        EbenLibList<T> sub = new EbenLibList<>();
-        for (int i = fromIndex; i < toIndex; i++) {
-            sub.add(get(i));
-        }
+        EbenLibList<T> sub = new EbenLibList<>(toIndex - fromIndex);
+        System.arraycopy(elements, fromIndex, sub.elements, 0, toIndex - fromIndex);
+        sub.size = toIndex - fromIndex;
         return sub;
     }
 
@@ -244,13 +352,31 @@ public class EbenLibList<T> implements Iterable<T> {
      * @return a new list of mapped values
      */
     public <R> EbenLibList<R> map(EbenLibFunction<T, R> mapper) {
-        EbenLibList<R> result = new EbenLibList<>();
+        EbenLibList<R> result = new EbenLibList<>(size);
         for (T item : this) {
             result.add(mapper.apply(item));
         }
         return result;
     }
 
+    /**
+     * Sorts this list in place (stable), working directly on the backing array.
+     *
+     * @param comparator ordering to sort by
+     */
+    public void sort(EbenLibComparator<T> comparator) {
+        ArraySort.sort(elements, 0, size, comparator);
+    }
+
+    /**
+     * Like {@link #sort}, but splits large lists across the common ForkJoinPool.
+     *
+     * @param comparator ordering to sort by
+     */
+    public void parallelSort(EbenLibComparator<T> comparator) {
+        ArraySort.parallelSort(elements, 0, size, comparator);
+    }
+
     /**
      * Returns an iterator over the elements in this list, in order.
      *
@@ -289,13 +415,30 @@ public class EbenLibList<T> implements Iterable<T> {
 
     // ─── Internal helpers ───────────────────────────────────────────────────
 
-    /** Double capacity when array is full. */
-    private void ensureCapacity() {
-        if (size == elements.length) {
-            Object[] newArr = new Object[elements.length * 2];
-            System.arraycopy(elements, 0, newArr, 0, elements.length);
-            elements = newArr;
+    /** Grows to at least {@code minCapacity}, doubling when that is larger. */
+    private void grow(int minCapacity) {
+        int doubled = Math.max(elements.length * 2, DEFAULT_CAPACITY);
+        elements = Arrays.copyOf(elements, Math.max(doubled, minCapacity));
+    }
+
+    /** Closes the gap at {@code index} with one block move. */
+    private void fastRemove(int index) {
+        int moved = size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(elements, index + 1, elements, index, moved);
+        }
+        elements[--size] = null; // help GC
+    }
+
+    private static EbenLibSet<Object> toSet(Iterable<?> items) {
+        if (items instanceof EbenLibSet) {
+            return (EbenLibSet<Object>) items;
+        }
+        EbenLibHashSet<Object> set = new EbenLibHashSet<>();
+        for (Object item : items) {
+            set.add(item);
         }
+        return set;
     }
 
     /**
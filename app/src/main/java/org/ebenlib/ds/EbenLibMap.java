@@ -1,11 +1,29 @@
 package org.ebenlib.ds;
 
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * A simple hash-table based map implementation from scratch.
  *
+ * Each bucket is a singly linked chain of entry nodes. When built with
+ * {@code ordered=true} the nodes are additionally threaded onto a
+ * doubly linked list in insertion order (like LinkedHashMap), so removal
+ * stays O(1) and iteration walks the nodes directly.
+ *
+ * Hash codes are spread (high bits folded into low bits) before masking
+ * into the power-of-two table. A bucket whose chain grows past
+ * {@code TREEIFY_THRESHOLD} and whose keys are all Comparable and of one
+ * class also gets a red-black index ({@link EbenLibTreeMap}) for lookups,
+ * so even keys that all share one hash cost O(log n) to find.
+ *
  * @param <K> key type
  * @param <V> value type
  */
@@ -13,12 +31,39 @@ import java.util.function.BiFunction;
 public class EbenLibMap<K, V> implements Iterable<EbenLibMapEntry<K, V>> {
     private static final int INITIAL_CAPACITY = 16;
     private final boolean ordered;
-    private EbenLibList<K> insertionOrder;
     private static final double LOAD_FACTOR = 0.75;
 
-    private EbenLibList<EbenLibMapEntry<K, V>>[] buckets;
+    /** Chain length at which a bucket gets a tree index. */
+    private static final int TREEIFY_THRESHOLD = 8;
+    /** Chain length at which a bucket's tree index is dropped again. */
+    private static final int UNTREEIFY_THRESHOLD = 6;
+    /** Below this table size a long chain triggers a resize instead of a tree. */
+    private static final int MIN_TREEIFY_CAPACITY = 64;
+
+    private Node<K, V>[] buckets;
+    // per-bucket tree index over the chain's nodes; null until some bucket needs one
+    private EbenLibTreeMap<K, Node<K, V>>[] trees;
+    // bins whose keys cannot be ordered; not retried until the next resize
+    private boolean[] untreeifiable;
     private int size = 0;
 
+    // insertion-order chain, only maintained when ordered
+    private Node<K, V> head;
+    private Node<K, V> tail;
+
+    /** Bucket entry: caches its key's hash and links to its neighbours in the bucket. */
+    private static final class Node<K, V> extends EbenLibMapEntry<K, V> {
+        final int hash;
+        Node<K, V> next, prev;
+        Node<K, V> before, after;
+
+        Node(int hash, K key, V value, Node<K, V> next) {
+            super(key, value);
+            this.hash = hash;
+            this.next = next;
+        }
+    }
+
 
     public EbenLibMap() {
         this(false, null);
@@ -29,21 +74,121 @@ public class EbenLibMap<K, V> implements Iterable<EbenLibMapEntry<K, V>> {
     /** Constructs a map that uses the given EbenLibComparator for ordering keys if ordered=true. */
     public EbenLibMap(boolean ordered, EbenLibComparator<K> cmp) {
         this.ordered = ordered;
-        if (ordered) {
-            insertionOrder = new EbenLibList<>();
-        }
         initBuckets(INITIAL_CAPACITY);
     }
 
+    /** Constructs an unordered map able to hold {@code expectedSize} entries without resizing. */
+    public EbenLibMap(int expectedSize) {
+        this.ordered = false;
+        initBuckets(capacityFor(expectedSize));
+    }
+
+    /** Smallest power-of-two table that holds {@code expectedSize} entries under the load factor. */
+    private static int capacityFor(int expectedSize) {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity * LOAD_FACTOR < expectedSize && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
     private void initBuckets(int capacity) {
-        buckets = new EbenLibList[capacity];
-        for (int i = 0; i < capacity; i++) {
-            buckets[i] = new EbenLibList<>();
+        buckets = (Node<K, V>[]) new Node<?, ?>[capacity];
+        trees = null;
+        untreeifiable = null;
+    }
+
+    /** Folds the high bits into the low ones, which are all the mask keeps. */
+    private static int hash(Object key) {
+        int h;
+        return key == null ? 0 : (h = key.hashCode()) ^ (h >>> 16);
+    }
+
+    private int bucketIndex(int hash) {
+        return hash & (buckets.length - 1);
+    }
+
+    private Node<K, V> findNode(Object key) {
+        int h = hash(key);
+        int idx = bucketIndex(h);
+        EbenLibTreeMap<K, Node<K, V>> tree = treeAt(idx);
+        if (tree != null && key != null && key.getClass() == tree.firstKey().getClass()) {
+            return tree.get((K) key);
+        }
+        for (Node<K, V> n = buckets[idx]; n != null; n = n.next) {
+            if (n.hash == h && (key == null ? n.getKey() == null : key.equals(n.getKey()))) {
+                return n;
+            }
+        }
+        return null;
+    }
+
+    // --- Tree bins ---
+
+    private EbenLibTreeMap<K, Node<K, V>> treeAt(int idx) {
+        return trees == null ? null : trees[idx];
+    }
+
+    /** Orders nodes of one bin by spread hash, then by their keys' natural order. */
+    private static <K> EbenLibComparator<K> binOrder() {
+        return (a, b) -> {
+            int c = Integer.compare(hash(a), hash(b));
+            return c != 0 ? c : ((Comparable<Object>) a).compareTo(b);
+        };
+    }
+
+    /**
+     * Builds a tree index for bucket {@code idx}, or marks it as a plain
+     * chain if its keys are not all Comparable instances of one class, or
+     * if two distinct keys compare as equal.
+     */
+    private void treeify(int idx) {
+        Node<K, V> head = buckets[idx];
+        Object first = head.getKey();
+        Class<?> cls = first == null ? null : first.getClass();
+        // check the classes before paying for a tree
+        for (Node<K, V> n = head; n != null; n = n.next) {
+            K k = n.getKey();
+            if (!(k instanceof Comparable) || k.getClass() != cls) {
+                markUntreeifiable(idx);
+                return;
+            }
         }
+        EbenLibTreeMap<K, Node<K, V>> tree = new EbenLibTreeMap<>(binOrder());
+        for (Node<K, V> n = head; n != null; n = n.next) {
+            if (tree.put(n.getKey(), n) != null) {   // compareTo disagrees with equals
+                markUntreeifiable(idx);
+                return;
+            }
+        }
+        if (trees == null) trees = (EbenLibTreeMap<K, Node<K, V>>[]) new EbenLibTreeMap<?, ?>[buckets.length];
+        trees[idx] = tree;
     }
 
-    private int bucketIndex(Object key) {
-        return (key == null ? 0 : Math.abs(key.hashCode())) % buckets.length;
+    private void markUntreeifiable(int idx) {
+        if (untreeifiable == null) untreeifiable = new boolean[buckets.length];
+        untreeifiable[idx] = true;
+    }
+
+    /** Called after a node was prepended to bucket {@code idx}. */
+    private void afterLink(int idx, Node<K, V> n) {
+        EbenLibTreeMap<K, Node<K, V>> tree = treeAt(idx);
+        if (tree != null) {
+            K k = n.getKey();
+            if (k == null || k.getClass() != tree.firstKey().getClass() || tree.put(k, n) != null) {
+                trees[idx] = null;   // bin no longer fits a tree; fall back to the chain
+                markUntreeifiable(idx);
+            }
+            return;
+        }
+        if (untreeifiable != null && untreeifiable[idx]) return;
+        int len = 0;
+        for (Node<K, V> c = buckets[idx]; c != null && len <= TREEIFY_THRESHOLD; c = c.next) {
+            len++;
+        }
+        if (len > TREEIFY_THRESHOLD && buckets.length >= MIN_TREEIFY_CAPACITY) {
+            treeify(idx);
+        }
     }
 
     // --- Static factories ---
@@ -67,50 +212,82 @@ public class EbenLibMap<K, V> implements Iterable<EbenLibMapEntry<K, V>> {
      * Returns the old value, or null if none.
      */
     public V put(K key, V value) {
-        maybeResize();
-        int idx = bucketIndex(key);
-        EbenLibList<EbenLibMapEntry<K, V>> bucket = buckets[idx];
-        for (EbenLibMapEntry<K, V> entry : bucket) {
-            if (key == null ? entry.getKey() == null : key.equals(entry.getKey())) {
-                V old = entry.getValue();
-                entry.setValue(value);
-                return old;
-            }
+        Node<K, V> n = findNode(key);
+        if (n != null) {
+            V old = n.getValue();
+            n.setValue(value);
+            return old;
         }
-        bucket.add(new EbenLibMapEntry<>(key, value));
+        insert(key, value);
+        return null;
+    }
+
+    private void insert(K key, V value) {
+        maybeResize();
+        int h = hash(key);
+        int idx = bucketIndex(h);
+        Node<K, V> n = new Node<>(h, key, value, buckets[idx]);
+        if (n.next != null) n.next.prev = n;
+        buckets[idx] = n;
         size++;
+        afterLink(idx, n);
         if (ordered) {
-            insertionOrder.add(key);
+            n.before = tail;
+            if (tail == null) head = n; else tail.after = n;
+            tail = n;
         }
-        return null;
     }
 
     private void maybeResize() {
         if (size + 1 > buckets.length * LOAD_FACTOR) {
-            // double capacity
-            EbenLibList<EbenLibMapEntry<K, V>>[] old = buckets;
-            initBuckets(buckets.length * 2);
-            size = 0;
-            for (EbenLibList<EbenLibMapEntry<K, V>> bucket : old) {
-                for (EbenLibMapEntry<K, V> e : bucket) {
-                    put(e.getKey(), e.getValue());
-                }
+            resize(buckets.length * 2);
+        }
+    }
+
+    /**
+     * Grows the table once so that {@code expectedSize} entries fit without
+     * further resizing. Bulk loaders should call this before inserting.
+     */
+    public void ensureCapacity(int expectedSize) {
+        int capacity = capacityFor(expectedSize);
+        if (capacity > buckets.length) {
+            resize(capacity);
+        }
+    }
+
+    private void resize(int capacity) {
+        // relink the existing nodes into the larger table
+        Node<K, V>[] old = buckets;
+        initBuckets(capacity);
+        int[] lengths = new int[buckets.length];
+        for (Node<K, V> bucket : old) {
+            Node<K, V> n = bucket;
+            while (n != null) {
+                Node<K, V> next = n.next;
+                int idx = bucketIndex(n.hash);
+                n.next = buckets[idx];
+                n.prev = null;
+                if (n.next != null) n.next.prev = n;
+                buckets[idx] = n;
+                lengths[idx]++;
+                n = next;
+            }
+        }
+        if (buckets.length >= MIN_TREEIFY_CAPACITY) {
+            for (int i = 0; i < lengths.length; i++) {
+                if (lengths[i] > TREEIFY_THRESHOLD) treeify(i);
             }
         }
     }
 
     public void merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
-        int index = Math.abs(key.hashCode()) % buckets.length;
-        for (EbenLibMapEntry<K, V> entry : buckets[index]) {
-            if (entry.getKey().equals(key)) {
-                V newValue = remappingFunction.apply(entry.getValue(), value);
-                entry.setValue(newValue);
-                return;
-            }
+        Node<K, V> n = findNode(key);
+        if (n != null) {
+            n.setValue(remappingFunction.apply(n.getValue(), value));
+            return;
         }
         // key not found — insert new entry
-        buckets[index].add(new EbenLibMapEntry<>(key, value));
-        size++;
+        insert(key, value);
     }
 
 
@@ -118,13 +295,8 @@ public class EbenLibMap<K, V> implements Iterable<EbenLibMapEntry<K, V>> {
 
     /** Returns the value to which the specified key is mapped, or null if none. */
     public V get(K key) {
-        int idx = bucketIndex(key);
-        for (EbenLibMapEntry<K, V> entry : buckets[idx]) {
-            if (key == null ? entry.getKey() == null : key.equals(entry.getKey())) {
-                return entry.getValue();
-            }
-        }
-        return null;
+        Node<K, V> n = findNode(key);
+        return n == null ? null : n.getValue();
     }
 
     /** Returns the value or default if key not present. */
@@ -135,16 +307,13 @@ public class EbenLibMap<K, V> implements Iterable<EbenLibMapEntry<K, V>> {
 
     /** Returns true if this map contains a mapping for the key. */
     public boolean containsKey(K key) {
-        return get(key) != null;
+        return findNode(key) != null;
     }
 
     // --- Views ---
 
     /** Returns a list of keys in this map. */
     public EbenLibList<K> keySet() {
-        if (ordered) {
-            return new EbenLibList<>(insertionOrder);
-        }
         EbenLibList<K> keys = new EbenLibList<>();
         for (EbenLibMapEntry<K, V> e : this) {
             keys.add(e.getKey());
@@ -173,39 +342,137 @@ public class EbenLibMap<K, V> implements Iterable<EbenLibMapEntry<K, V>> {
     // --- Iterable ---
 
     /**
-     * Iterates over all entries in all buckets.
+     * Iterates over all entries: in insertion order when ordered,
+     * otherwise bucket by bucket. The entries returned are the map's own
+     * nodes, so no allocation happens per step.
      */
     @Override
     public Iterator<EbenLibMapEntry<K, V>> iterator() {
         if (!ordered){
             return new Iterator<>() {
                 private int bucketIndex = 0;
-                private Iterator<EbenLibMapEntry<K, V>> listIter = buckets[0].iterator();
+                private Node<K, V> nextNode = advance(null);
 
-                public boolean hasNext() {
-                    while (!listIter.hasNext() && bucketIndex < buckets.length - 1) {
+                private Node<K, V> advance(Node<K, V> n) {
+                    if (n != null && n.next != null) return n.next;
+                    if (n != null) bucketIndex++;
+                    while (bucketIndex < buckets.length && buckets[bucketIndex] == null) {
                         bucketIndex++;
-                        listIter = buckets[bucketIndex].iterator();
                     }
-                    return listIter.hasNext();
+                    return bucketIndex < buckets.length ? buckets[bucketIndex] : null;
+                }
+
+                public boolean hasNext() {
+                    return nextNode != null;
                 }
 
                 public EbenLibMapEntry<K, V> next() {
-                    return listIter.next();
+                    if (nextNode == null) throw new NoSuchElementException();
+                    Node<K, V> n = nextNode;
+                    nextNode = advance(n);
+                    return n;
                 }
             };
         } else{
             return new Iterator<>() {
-            private int pos = 0;
-            @Override public boolean hasNext() { return pos < insertionOrder.size(); }
+            private Node<K, V> nextNode = head;
+            @Override public boolean hasNext() { return nextNode != null; }
             @Override public EbenLibMapEntry<K, V> next() {
-                K key = insertionOrder.get(pos++);
-                return new EbenLibMapEntry<>(key, get(key));
+                if (nextNode == null) throw new NoSuchElementException();
+                Node<K, V> n = nextNode;
+                nextNode = n.after;
+                return n;
             }
         };
         }
     }
 
+    /**
+     * Splits on bucket ranges when unordered (only the unsplit root is
+     * SIZED, since chain lengths vary per range). An ordered map walks its
+     * insertion chain, which can only be split in batches.
+     */
+    @Override
+    public Spliterator<EbenLibMapEntry<K, V>> spliterator() {
+        if (ordered) {
+            return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED);
+        }
+        return new BucketSpliterator<>(buckets, 0, buckets.length, size, true);
+    }
+
+    /** Streams the map's own entries without copying them into a list. */
+    public Stream<EbenLibMapEntry<K, V>> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /** Like {@link #stream()}, but may split the buckets across the common ForkJoinPool. */
+    public Stream<EbenLibMapEntry<K, V>> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    private static final class BucketSpliterator<K, V> implements Spliterator<EbenLibMapEntry<K, V>> {
+        private final Node<K, V>[] tab;
+        private int index;          // next bucket to visit
+        private final int fence;    // one past the last bucket
+        private Node<K, V> current; // position inside the current chain
+        private long est;
+        private boolean exact;
+
+        BucketSpliterator(Node<K, V>[] tab, int origin, int fence, long est, boolean exact) {
+            this.tab = tab;
+            this.index = origin;
+            this.fence = fence;
+            this.est = est;
+            this.exact = exact;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super EbenLibMapEntry<K, V>> action) {
+            while (current == null && index < fence) {
+                current = tab[index++];
+            }
+            if (current == null) return false;
+            Node<K, V> n = current;
+            current = n.next;
+            action.accept(n);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super EbenLibMapEntry<K, V>> action) {
+            for (Node<K, V> n = current; n != null; n = n.next) {
+                action.accept(n);
+            }
+            current = null;
+            for (; index < fence; index++) {
+                for (Node<K, V> n = tab[index]; n != null; n = n.next) {
+                    action.accept(n);
+                }
+            }
+        }
+
+        @Override
+        public Spliterator<EbenLibMapEntry<K, V>> trySplit() {
+            int mid = (index + fence) >>> 1;
+            if (current != null || mid <= index) return null;
+            est >>>= 1;
+            exact = false;
+            BucketSpliterator<K, V> prefix = new BucketSpliterator<>(tab, index, mid, est, false);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return est;
+        }
+
+        @Override
+        public int characteristics() {
+            return exact ? SIZED | DISTINCT | NONNULL : DISTINCT | NONNULL;
+        }
+    }
+
     // --- Removal ---
 
     /**
@@ -213,27 +480,67 @@ public class EbenLibMap<K, V> implements Iterable<EbenLibMapEntry<K, V>> {
      * Returns the previous value, or null if none.
      */
     public V remove(K key) {
-        int idx = bucketIndex(key);
-        EbenLibList<EbenLibMapEntry<K, V>> bucket = buckets[idx];
-        for (int i = 0; i < bucket.size(); i++) {
-            EbenLibMapEntry<K, V> entry = bucket.get(i);
-            if (key == null ? entry.getKey() == null : key.equals(entry.getKey())) {
-                V old = entry.getValue();
-                bucket.remove(i);
+        // found through the tree in a tree bin; the prev link makes the unlink O(1)
+        Node<K, V> n = findNode(key);
+        if (n == null) return null;
+        int idx = bucketIndex(n.hash);
+        unlinkFromBin(idx, n);
+        size--;
+        if (ordered) {
+            unlink(n);
+        }
+        EbenLibTreeMap<K, Node<K, V>> tree = treeAt(idx);
+        if (tree != null) {
+            tree.remove(n.getKey());
+            if (tree.size() < UNTREEIFY_THRESHOLD) trees[idx] = null;
+        }
+        return n.getValue();
+    }
+
+    /**
+     * Removes every entry matching {@code pred} in one pass over the table.
+     *
+     * @return true if any entry was removed
+     */
+    public boolean removeIf(Predicate<? super EbenLibMapEntry<K, V>> pred) {
+        int before = size;
+        for (int idx = 0; idx < buckets.length; idx++) {
+            for (Node<K, V> n = buckets[idx]; n != null; n = n.next) {
+                if (!pred.test(n)) continue;
+                unlinkFromBin(idx, n);
                 size--;
                 if (ordered) {
-                    insertionOrder.remove(key);
+                    unlink(n);
+                }
+                EbenLibTreeMap<K, Node<K, V>> tree = treeAt(idx);
+                if (tree != null) {
+                    tree.remove(n.getKey());
+                    if (tree.size() < UNTREEIFY_THRESHOLD) trees[idx] = null;
                 }
-                return old;
             }
         }
-        return null;
+        return size != before;
+    }
+
+    /** Detaches {@code n} from bucket {@code idx}; its own next link is kept for callers mid-walk. */
+    private void unlinkFromBin(int idx, Node<K, V> n) {
+        if (n.prev == null) buckets[idx] = n.next; else n.prev.next = n.next;
+        if (n.next != null) n.next.prev = n.prev;
+        n.prev = null;
+    }
+
+    /** Detaches {@code n} from the insertion-order chain. */
+    private void unlink(Node<K, V> n) {
+        if (n.before == null) head = n.after; else n.before.after = n.after;
+        if (n.after == null) tail = n.before; else n.after.before = n.before;
+        n.before = n.after = null;
     }
 
     /** Removes all mappings. */
     public void clear() {
         initBuckets(INITIAL_CAPACITY);
         size = 0;
+        head = tail = null;
     }
 
     /** @return number of key-value mappings. */
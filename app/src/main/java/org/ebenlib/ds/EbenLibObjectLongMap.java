@@ -0,0 +1,180 @@
+package org.ebenlib.ds;
+
+/**
+ * A hash map from object keys to primitive {@code long} values, meant for
+ * counters: {@link #addTo} updates a count in place without boxing.
+ *
+ * Uses open addressing over parallel key / value / hash arrays, probed
+ * by {@link ObjectProbeTable}. Missing keys read as 0 unless another
+ * default is given.
+ *
+ * @param <K> key type
+ */
+@SuppressWarnings("unchecked")
+public class EbenLibObjectLongMap<K> extends ObjectProbeTable {
+    private long[] vals;
+
+    /** Receives each key/value pair from {@link #forEach}. */
+    @FunctionalInterface
+    public interface EntryConsumer<K> {
+        void accept(K key, long value);
+    }
+
+    public EbenLibObjectLongMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /** Constructs a map able to hold {@code expectedSize} entries without resizing. */
+    public EbenLibObjectLongMap(int expectedSize) {
+        init(capacityFor(expectedSize));
+    }
+
+    @Override
+    void allocateValues(int capacity) {
+        vals = new long[capacity];
+    }
+
+    @Override
+    void moveValue(int from, int to) {
+        vals[to] = vals[from];
+    }
+
+    @Override
+    void freeValue(int slot) {
+        vals[slot] = 0L;
+    }
+
+    /** Returns the slot for {@code key}, claiming an empty one (value 0) if absent. */
+    private int slotFor(Object key) {
+        Object k = mask(key);
+        int h = hash(k);
+        int i = probe(k, h);
+        if (i >= 0) return i;
+        if (size + 1 > threshold) {
+            resize();
+            i = firstFree(h);
+        } else {
+            i = ~i;
+        }
+        claim(i, k, h);
+        vals[i] = 0L;
+        size++;
+        return i;
+    }
+
+    private void resize() {
+        Object[] oldKeys = keys;
+        long[] oldVals = vals;
+        int[] oldHashes = hashes;
+        init(oldKeys.length * 2);
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] == null) continue;
+            int i = firstFree(oldHashes[j]);
+            claim(i, oldKeys[j], oldHashes[j]);
+            vals[i] = oldVals[j];
+        }
+    }
+
+    // --- Mutators ---
+
+    /** Sets the value for {@code key}, returning the previous value (0 if absent). */
+    public long put(K key, long value) {
+        int i = slotFor(key);
+        long old = vals[i];
+        vals[i] = value;
+        return old;
+    }
+
+    /**
+     * Adds {@code delta} to the value for {@code key} (starting from 0 if absent).
+     *
+     * @return the updated value
+     */
+    public long addTo(K key, long delta) {
+        int i = slotFor(key);
+        return vals[i] += delta;
+    }
+
+    /** Same as {@code addTo(key, 1)}. */
+    public long increment(K key) {
+        return addTo(key, 1L);
+    }
+
+    /**
+     * Removes the mapping for {@code key}. Returns the previous value, or 0 if none.
+     */
+    public long remove(K key) {
+        int i = indexOf(key);
+        if (i < 0) return 0L;
+        long old = vals[i];
+        deleteSlot(i);
+        return old;
+    }
+
+    // --- Accessors ---
+
+    /** Returns the value for {@code key}, or 0 if absent. */
+    public long get(K key) {
+        return getOrDefault(key, 0L);
+    }
+
+    /** Returns the value for {@code key}, or {@code defaultValue} if absent. */
+    public long getOrDefault(K key, long defaultValue) {
+        int i = indexOf(key);
+        return i >= 0 ? vals[i] : defaultValue;
+    }
+
+    /** Returns true if this map contains a mapping for the key. */
+    public boolean containsKey(K key) {
+        return indexOf(key) >= 0;
+    }
+
+    // --- Views ---
+
+    /** Returns a list of keys in this map. */
+    public EbenLibList<K> keySet() {
+        EbenLibList<K> out = new EbenLibList<>();
+        for (Object k : keys) {
+            if (k != null) out.add((K) unmask(k));
+        }
+        return out;
+    }
+
+    /** Returns the mappings as (boxed) entries, e.g. for sorting or display. */
+    public EbenLibList<EbenLibMapEntry<K, Long>> entrySet() {
+        EbenLibList<EbenLibMapEntry<K, Long>> out = new EbenLibList<>();
+        forEach((k, v) -> out.add(new EbenLibMapEntry<>(k, v)));
+        return out;
+    }
+
+    /**
+     * Returns the {@code k} mappings with the largest values, largest first;
+     * among equal values the earlier one in table order wins. Slot indices
+     * go through an {@link EbenLibTopK}; once it is full, a slot that does
+     * not beat the weakest kept value is skipped before its index is boxed.
+     */
+    public EbenLibList<EbenLibMapEntry<K, Long>> topK(int k) {
+        EbenLibList<EbenLibMapEntry<K, Long>> out = new EbenLibList<>();
+        if (k <= 0 || size == 0) return out;
+        EbenLibTopK<Integer> top = new EbenLibTopK<>(Math.min(k, size),
+            (a, b) -> Long.compare(vals[a], vals[b]));
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == null) continue;
+            if (top.isFull() && vals[i] <= vals[top.peekWeakest()]) continue;
+            top.offer(i);
+        }
+        for (int slot : top.toSortedList()) {
+            Object key = keys[slot];
+            out.add(new EbenLibMapEntry<>((K) unmask(key), vals[slot]));
+        }
+        return out;
+    }
+
+    /** Applies {@code action} to every mapping, without boxing the values. */
+    public void forEach(EntryConsumer<? super K> action) {
+        for (int i = 0; i < keys.length; i++) {
+            Object k = keys[i];
+            if (k != null) action.accept((K) unmask(k), vals[i]);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package org.ebenlib.ds;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+
+/**
+ * An open-addressing hash map using linear probing over parallel
+ * key / value / hash arrays.
+ *
+ * Exposes the same API as {@link EbenLibMap}, but keeps no per-bucket
+ * objects: lookups allocate nothing, every slot caches its key's hash,
+ * and a resize only rehashes the raw arrays. Probing and backward-shift
+ * deletion come from {@link ObjectProbeTable}.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+@SuppressWarnings("unchecked")
+public class EbenLibOpenHashMap<K, V> extends ObjectProbeTable implements Iterable<EbenLibMapEntry<K, V>> {
+    private Object[] vals;
+
+    public EbenLibOpenHashMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /** Constructs a map able to hold {@code expectedSize} entries without resizing. */
+    public EbenLibOpenHashMap(int expectedSize) {
+        init(capacityFor(expectedSize));
+    }
+
+    @Override
+    void allocateValues(int capacity) {
+        vals = new Object[capacity];
+    }
+
+    @Override
+    void moveValue(int from, int to) {
+        vals[to] = vals[from];
+    }
+
+    @Override
+    void freeValue(int slot) {
+        vals[slot] = null;
+    }
+
+    // --- Static factories ---
+
+    /** Creates a map with a single key/value pair. */
+    public static <K, V> EbenLibOpenHashMap<K, V> of(K k1, V v1) {
+        EbenLibOpenHashMap<K, V> m = new EbenLibOpenHashMap<>();
+        m.put(k1, v1);
+        return m;
+    }
+
+    /** Creates an empty map. */
+    public static <K, V> EbenLibOpenHashMap<K, V> empty() {
+        return new EbenLibOpenHashMap<>();
+    }
+
+    // --- Mutators ---
+
+    /**
+     * Associates the specified value with the specified key.
+     * Returns the old value, or null if none.
+     */
+    public V put(K key, V value) {
+        Object k = mask(key);
+        int h = hash(k);
+        int i = probe(k, h);
+        if (i >= 0) {
+            V old = (V) vals[i];
+            vals[i] = value;
+            return old;
+        }
+        i = ~i;
+        claim(i, k, h);
+        vals[i] = value;
+        if (++size > threshold) {
+            resize(keys.length * 2);
+        }
+        return null;
+    }
+
+    /** Grows the table, if needed, so {@code expectedSize} entries fit without resizing. */
+    public void ensureCapacity(int expectedSize) {
+        int capacity = capacityFor(expectedSize);
+        if (capacity > keys.length) {
+            resize(capacity);
+        }
+    }
+
+    /**
+     * If the key is absent, associates it with {@code value}; otherwise
+     * replaces the current value with {@code remappingFunction(old, value)}.
+     */
+    public void merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        int i = indexOf(key);
+        if (i >= 0) {
+            vals[i] = remappingFunction.apply((V) vals[i], value);
+        } else {
+            put(key, value);
+        }
+    }
+
+    /** Moves to a table of {@code capacity} slots, re-placing entries by their cached hashes. */
+    private void resize(int capacity) {
+        Object[] oldKeys = keys;
+        Object[] oldVals = vals;
+        int[] oldHashes = hashes;
+        init(capacity);
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] == null) continue;
+            int i = firstFree(oldHashes[j]);
+            claim(i, oldKeys[j], oldHashes[j]);
+            vals[i] = oldVals[j];
+        }
+    }
+
+    // --- Accessors ---
+
+    /** Returns the value to which the specified key is mapped, or null if none. */
+    public V get(K key) {
+        int i = indexOf(key);
+        return i >= 0 ? (V) vals[i] : null;
+    }
+
+    /** Returns the value or default if key not present. */
+    public V getOrDefault(K key, V defaultValue) {
+        int i = indexOf(key);
+        return i >= 0 ? (V) vals[i] : defaultValue;
+    }
+
+    /** Returns true if this map contains a mapping for the key. */
+    public boolean containsKey(K key) {
+        return indexOf(key) >= 0;
+    }
+
+    // --- Views ---
+
+    /** Returns a list of keys in this map. */
+    public EbenLibList<K> keySet() {
+        EbenLibList<K> out = new EbenLibList<>();
+        for (Object k : keys) {
+            if (k != null) out.add((K) unmask(k));
+        }
+        return out;
+    }
+
+    /** Returns a list of values in this map. */
+    public EbenLibList<V> values() {
+        EbenLibList<V> out = new EbenLibList<>();
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) out.add((V) vals[i]);
+        }
+        return out;
+    }
+
+    /** Returns a list of entries in this map (snapshots of each pair). */
+    public EbenLibList<EbenLibMapEntry<K, V>> entrySet() {
+        EbenLibList<EbenLibMapEntry<K, V>> out = new EbenLibList<>();
+        for (EbenLibMapEntry<K, V> e : this) {
+            out.add(e);
+        }
+        return out;
+    }
+
+    // --- Iterable ---
+
+    /** Iterates over all occupied slots in table order. */
+    @Override
+    public Iterator<EbenLibMapEntry<K, V>> iterator() {
+        return new Iterator<>() {
+            private int pos = advance(0);
+
+            private int advance(int from) {
+                while (from < keys.length && keys[from] == null) from++;
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return pos < keys.length;
+            }
+
+            @Override
+            public EbenLibMapEntry<K, V> next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                EbenLibMapEntry<K, V> e = new EbenLibMapEntry<>((K) unmask(keys[pos]), (V) vals[pos]);
+                pos = advance(pos + 1);
+                return e;
+            }
+        };
+    }
+
+    // --- Removal ---
+
+    /**
+     * Removes the mapping for the specified key if present.
+     * Returns the previous value, or null if none.
+     */
+    public V remove(K key) {
+        int i = indexOf(key);
+        if (i < 0) return null;
+        V old = (V) vals[i];
+        deleteSlot(i);
+        return old;
+    }
+}
@@ -0,0 +1,302 @@
+package org.ebenlib.ds;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An immutable list stored as a 32-way trie plus a tail buffer (the
+ * persistent vector design).
+ *
+ * "Updates" ({@link #plus}, {@link #with}, {@link #minusLast}) return a new
+ * list and leave this one untouched; the two share every trie node off the
+ * changed path, so an update copies O(log32 n) small arrays. Appends
+ * usually only copy the tail. Since nothing can change, handing a list to
+ * another reader or thread needs no defensive copy.
+ *
+ * @param <T> the element type
+ */
+@SuppressWarnings("unchecked")
+public final class EbenLibPersistentList<T> implements Iterable<T> {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;   // 32
+    private static final int MASK = WIDTH - 1;
+
+    /** Interior or leaf node of the trie; leaves hold elements, interiors hold nodes. */
+    private static final class Node {
+        final Object[] array;
+
+        Node(Object[] array) {
+            this.array = array;
+        }
+    }
+
+    private static final Node EMPTY_NODE = new Node(new Object[WIDTH]);
+    private static final EbenLibPersistentList<?> EMPTY =
+        new EbenLibPersistentList<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    private final int size;
+    private final int shift;     // BITS * (trie depth)
+    private final Node root;
+    private final Object[] tail; // last 1..32 elements, not yet in the trie
+
+    private EbenLibPersistentList(int size, int shift, Node root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    // --- Static factories ---
+
+    /** The empty list. */
+    public static <T> EbenLibPersistentList<T> empty() {
+        return (EbenLibPersistentList<T>) EMPTY;
+    }
+
+    @SafeVarargs
+    public static <T> EbenLibPersistentList<T> of(T... items) {
+        EbenLibPersistentList<T> out = empty();
+        for (T item : items) {
+            out = out.plus(item);
+        }
+        return out;
+    }
+
+    /**
+     * Copies {@code items} into a new persistent list in O(n), filling the
+     * trie 32 elements at a time rather than appending one by one.
+     */
+    public static <T> EbenLibPersistentList<T> from(EbenLibList<? extends T> items) {
+        EbenLibPersistentList<T> out = empty();
+        int n = items.size();
+        for (int start = 0; start < n; start += WIDTH) {
+            int len = Math.min(WIDTH, n - start);
+            Object[] chunk = new Object[len];
+            for (int i = 0; i < len; i++) {
+                chunk[i] = items.get(start + i);
+            }
+            out = out.withNewTail(chunk);
+        }
+        return out;
+    }
+
+    // --- Accessors ---
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @throws IndexOutOfBoundsException if index is out of [0, size)
+     */
+    public T get(int index) {
+        checkIndex(index);
+        return (T) leafFor(index)[index & MASK];
+    }
+
+    // --- Updates (each returns a new list) ---
+
+    /** Returns this list with {@code item} appended. */
+    public EbenLibPersistentList<T> plus(T item) {
+        int inTail = size - tailOffset();
+        if (inTail < WIDTH) {
+            Object[] newTail = new Object[inTail + 1];
+            System.arraycopy(tail, 0, newTail, 0, inTail);
+            newTail[inTail] = item;
+            return new EbenLibPersistentList<>(size + 1, shift, root, newTail);
+        }
+        return withNewTail(new Object[] { item });
+    }
+
+    /** Returns this list with the element at {@code index} replaced. */
+    public EbenLibPersistentList<T> with(int index, T item) {
+        checkIndex(index);
+        if (index >= tailOffset()) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = item;
+            return new EbenLibPersistentList<>(size, shift, root, newTail);
+        }
+        return new EbenLibPersistentList<>(size, shift, assoc(shift, root, index, item), tail);
+    }
+
+    /** Returns this list without its last element. */
+    public EbenLibPersistentList<T> minusLast() {
+        if (size == 0) throw new IllegalStateException("List is empty");
+        if (size == 1) return empty();
+        int inTail = size - tailOffset();
+        if (inTail > 1) {
+            Object[] newTail = new Object[inTail - 1];
+            System.arraycopy(tail, 0, newTail, 0, inTail - 1);
+            return new EbenLibPersistentList<>(size - 1, shift, root, newTail);
+        }
+        // the tail empties: the trie's last leaf becomes the new tail
+        Object[] newTail = leafFor(size - 2);
+        Node newRoot = popTail(shift, root);
+        int newShift = shift;
+        if (newRoot == null) {
+            newRoot = EMPTY_NODE;
+        }
+        if (shift > BITS && newRoot.array[1] == null) {
+            newRoot = (Node) newRoot.array[0];
+            newShift -= BITS;
+        }
+        return new EbenLibPersistentList<>(size - 1, newShift, newRoot, newTail);
+    }
+
+    // --- Views ---
+
+    /** Returns a mutable copy. */
+    public EbenLibList<T> toList() {
+        EbenLibList<T> out = new EbenLibList<>(size);
+        for (T item : this) {
+            out.add(item);
+        }
+        return out;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int pos = 0;
+            private Object[] leaf = size > 0 ? leafFor(0) : null;
+
+            public boolean hasNext() {
+                return pos < size;
+            }
+
+            public T next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                if (pos > 0 && (pos & MASK) == 0) {
+                    leaf = leafFor(pos);   // one trie walk per 32 elements
+                }
+                return (T) leaf[pos++ & MASK];
+            }
+        };
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size,
+            Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        int i = 0;
+        for (T item : this) {
+            if (i++ > 0) sb.append(", ");
+            sb.append(item);
+        }
+        return sb.append(']').toString();
+    }
+
+    // ─── Internal helpers ───────────────────────────────────────────────────
+
+    /** Index of the first element held in the tail. */
+    private int tailOffset() {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    private Object[] leafFor(int index) {
+        if (index >= tailOffset()) return tail;
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.array[(index >>> level) & MASK];
+        }
+        return node.array;
+    }
+
+    /**
+     * Moves the current (full) tail into the trie and starts a new tail.
+     * Also used by {@link #from} with a whole chunk as the new tail.
+     */
+    private EbenLibPersistentList<T> withNewTail(Object[] newTail) {
+        if (size == 0) {
+            return new EbenLibPersistentList<>(newTail.length, BITS, EMPTY_NODE, newTail);
+        }
+        Node tailNode = new Node(tail);
+        Node newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            // root is full: grow the trie by one level
+            newRoot = new Node(new Object[WIDTH]);
+            newRoot.array[0] = root;
+            newRoot.array[1] = newPath(shift, tailNode);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root, tailNode);
+        }
+        return new EbenLibPersistentList<>(size + newTail.length, newShift, newRoot, newTail);
+    }
+
+    private Node pushTail(int level, Node parent, Node tailNode) {
+        int sub = ((size - 1) >>> level) & MASK;
+        Node ret = new Node(parent.array.clone());
+        Node insert;
+        if (level == BITS) {
+            insert = tailNode;
+        } else {
+            Node child = (Node) parent.array[sub];
+            insert = child != null
+                ? pushTail(level - BITS, child, tailNode)
+                : newPath(level - BITS, tailNode);
+        }
+        ret.array[sub] = insert;
+        return ret;
+    }
+
+    private static Node newPath(int level, Node node) {
+        if (level == 0) return node;
+        Node ret = new Node(new Object[WIDTH]);
+        ret.array[0] = newPath(level - BITS, node);
+        return ret;
+    }
+
+    private static Node assoc(int level, Node node, int index, Object item) {
+        Node ret = new Node(node.array.clone());
+        if (level == 0) {
+            ret.array[index & MASK] = item;
+        } else {
+            int sub = (index >>> level) & MASK;
+            ret.array[sub] = assoc(level - BITS, (Node) node.array[sub], index, item);
+        }
+        return ret;
+    }
+
+    /** Drops the trie's last leaf; returns null when the node becomes empty. */
+    private Node popTail(int level, Node node) {
+        int sub = ((size - 2) >>> level) & MASK;
+        if (level > BITS) {
+            Node child = popTail(level - BITS, (Node) node.array[sub]);
+            if (child == null && sub == 0) return null;
+            Node ret = new Node(node.array.clone());
+            ret.array[sub] = child;
+            return ret;
+        }
+        if (sub == 0) return null;
+        Node ret = new Node(node.array.clone());
+        ret.array[sub] = null;
+        return ret;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                "Index " + index + " out of bounds for size " + size
+            );
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package org.ebenlib.ds;
+
+import java.util.Iterator;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable hash map stored as a hash array mapped trie (HAMT).
+ *
+ * Each trie level consumes 5 bits of the key's spread hash; a node keeps
+ * a 32-bit bitmap of occupied slots and a packed array of just those
+ * slots, so sparse levels stay small. {@link #plus} and {@link #minus}
+ * return a new map that shares every node off the changed path, costing
+ * O(log32 n) small array copies. Keys whose full hashes collide share a
+ * collision node.
+ *
+ * Null keys and values are not allowed.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+@SuppressWarnings("unchecked")
+public final class EbenLibPersistentMap<K, V> implements Iterable<EbenLibMapEntry<K, V>> {
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final EbenLibPersistentMap<?, ?> EMPTY = new EbenLibPersistentMap<>(null, 0);
+
+    private final Node root;   // null when empty
+    private final int size;
+
+    private EbenLibPersistentMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    // --- Static factories ---
+
+    /** The empty map. */
+    public static <K, V> EbenLibPersistentMap<K, V> empty() {
+        return (EbenLibPersistentMap<K, V>) EMPTY;
+    }
+
+    /** Copies the mappings of {@code map}. */
+    public static <K, V> EbenLibPersistentMap<K, V> from(EbenLibMap<K, V> map) {
+        EbenLibPersistentMap<K, V> out = empty();
+        for (EbenLibMapEntry<K, V> e : map) {
+            out = out.plus(e.getKey(), e.getValue());
+        }
+        return out;
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    // --- Accessors ---
+
+    /** Returns the value for {@code key}, or null if none. */
+    public V get(K key) {
+        if (key == null || root == null) return null;
+        return (V) root.find(0, hash(key), key);
+    }
+
+    /** Returns the value or default if key not present. */
+    public V getOrDefault(K key, V defaultValue) {
+        V v = get(key);
+        return v == null ? defaultValue : v;
+    }
+
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // --- Updates (each returns a new map) ---
+
+    /** Returns this map with {@code key} mapped to {@code value}. */
+    public EbenLibPersistentMap<K, V> plus(K key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Null keys and values are not supported");
+        }
+        boolean[] added = { false };
+        Node start = root == null ? BitmapNode.EMPTY : root;
+        Node newRoot = start.assoc(0, hash(key), key, value, added);
+        if (newRoot == root) return this;
+        return new EbenLibPersistentMap<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /** Returns this map without a mapping for {@code key}. */
+    public EbenLibPersistentMap<K, V> minus(K key) {
+        if (key == null || root == null) return this;
+        Node newRoot = root.without(0, hash(key), key);
+        if (newRoot == root) return this;
+        return newRoot == null ? empty() : new EbenLibPersistentMap<>(newRoot, size - 1);
+    }
+
+    // --- Views ---
+
+    /** Applies {@code action} to every mapping, in no particular order. */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (root != null) root.forEach((BiConsumer<Object, Object>) action);
+    }
+
+    public EbenLibList<K> keySet() {
+        EbenLibList<K> out = new EbenLibList<>(size);
+        forEach((k, v) -> out.add(k));
+        return out;
+    }
+
+    public EbenLibList<V> values() {
+        EbenLibList<V> out = new EbenLibList<>(size);
+        forEach((k, v) -> out.add(v));
+        return out;
+    }
+
+    public EbenLibList<EbenLibMapEntry<K, V>> entrySet() {
+        EbenLibList<EbenLibMapEntry<K, V>> out = new EbenLibList<>(size);
+        forEach((k, v) -> out.add(new EbenLibMapEntry<>(k, v)));
+        return out;
+    }
+
+    @Override
+    public Iterator<EbenLibMapEntry<K, V>> iterator() {
+        return entrySet().iterator();
+    }
+
+    // ─── Trie nodes ─────────────────────────────────────────────────────────
+
+    private interface Node {
+        /** Value for key, or null. */
+        Object find(int shift, int hash, Object key);
+
+        /** Node with key mapped to value; returns this if nothing changed. */
+        Node assoc(int shift, int hash, Object key, Object value, boolean[] added);
+
+        /** Node without key; this if absent, null if the node becomes empty. */
+        Node without(int shift, int hash, Object key);
+
+        void forEach(BiConsumer<Object, Object> action);
+    }
+
+    /**
+     * Slots are packed in pairs: (key, value) for an entry, or
+     * (null, child node) for a sub-trie.
+     */
+    private static final class BitmapNode implements Node {
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        final int bitmap;
+        final Object[] array;
+
+        BitmapNode(int bitmap, Object[] array) {
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        private static int bit(int hash, int shift) {
+            return 1 << ((hash >>> shift) & MASK);
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        public Object find(int shift, int hash, Object key) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) return null;
+            int i = index(bit);
+            Object k = array[2 * i];
+            Object v = array[2 * i + 1];
+            if (k == null) return ((Node) v).find(shift + BITS, hash, key);
+            return key.equals(k) ? v : null;
+        }
+
+        @Override
+        public Node assoc(int shift, int hash, Object key, Object value, boolean[] added) {
+            int bit = bit(hash, shift);
+            int i = index(bit);
+            if ((bitmap & bit) != 0) {
+                Object k = array[2 * i];
+                Object v = array[2 * i + 1];
+                if (k == null) {
+                    Node child = ((Node) v).assoc(shift + BITS, hash, key, value, added);
+                    return child == v ? this : new BitmapNode(bitmap, set(array, 2 * i + 1, child));
+                }
+                if (key.equals(k)) {
+                    return value == v ? this : new BitmapNode(bitmap, set(array, 2 * i + 1, value));
+                }
+                // two keys meet in this slot: push both down a level
+                added[0] = true;
+                Node child = pair(shift + BITS, k, v, hash, key, value);
+                Object[] copy = array.clone();
+                copy[2 * i] = null;
+                copy[2 * i + 1] = child;
+                return new BitmapNode(bitmap, copy);
+            }
+            added[0] = true;
+            Object[] copy = new Object[array.length + 2];
+            System.arraycopy(array, 0, copy, 0, 2 * i);
+            copy[2 * i] = key;
+            copy[2 * i + 1] = value;
+            System.arraycopy(array, 2 * i, copy, 2 * i + 2, array.length - 2 * i);
+            return new BitmapNode(bitmap | bit, copy);
+        }
+
+        @Override
+        public Node without(int shift, int hash, Object key) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) return this;
+            int i = index(bit);
+            Object k = array[2 * i];
+            Object v = array[2 * i + 1];
+            if (k == null) {
+                Node child = ((Node) v).without(shift + BITS, hash, key);
+                if (child == v) return this;
+                if (child != null) return new BitmapNode(bitmap, set(array, 2 * i + 1, child));
+            } else if (!key.equals(k)) {
+                return this;
+            }
+            if (bitmap == bit) return null;
+            Object[] copy = new Object[array.length - 2];
+            System.arraycopy(array, 0, copy, 0, 2 * i);
+            System.arraycopy(array, 2 * i + 2, copy, 2 * i, array.length - 2 * i - 2);
+            return new BitmapNode(bitmap ^ bit, copy);
+        }
+
+        @Override
+        public void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (array[i] == null) ((Node) array[i + 1]).forEach(action);
+                else action.accept(array[i], array[i + 1]);
+            }
+        }
+
+        private static Object[] set(Object[] array, int i, Object o) {
+            Object[] copy = array.clone();
+            copy[i] = o;
+            return copy;
+        }
+
+        /** A node holding two entries that collided at the level above. */
+        private static Node pair(int shift, Object k1, Object v1, int h2, Object k2, Object v2) {
+            int h1 = hash(k1);
+            if (h1 == h2) return new CollisionNode(h1, new Object[] { k1, v1, k2, v2 });
+            boolean[] ignored = new boolean[1];
+            return EMPTY.assoc(shift, h1, k1, v1, ignored).assoc(shift, h2, k2, v2, ignored);
+        }
+    }
+
+    /** Entries whose spread hashes are identical, kept as a flat key/value array. */
+    private static final class CollisionNode implements Node {
+        final int hash;
+        final Object[] array;
+
+        CollisionNode(int hash, Object[] array) {
+            this.hash = hash;
+            this.array = array;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) return i;
+            }
+            return -1;
+        }
+
+        @Override
+        public Object find(int shift, int hash, Object key) {
+            int i = indexOf(key);
+            return i < 0 ? null : array[i + 1];
+        }
+
+        @Override
+        public Node assoc(int shift, int hash, Object key, Object value, boolean[] added) {
+            if (hash == this.hash) {
+                int i = indexOf(key);
+                if (i >= 0) {
+                    if (array[i + 1] == value) return this;
+                    Object[] copy = array.clone();
+                    copy[i + 1] = value;
+                    return new CollisionNode(hash, copy);
+                }
+                added[0] = true;
+                Object[] copy = new Object[array.length + 2];
+                System.arraycopy(array, 0, copy, 0, array.length);
+                copy[array.length] = key;
+                copy[array.length + 1] = value;
+                return new CollisionNode(hash, copy);
+            }
+            // different hash: nest this node under a bitmap node at this level
+            Node parent = new BitmapNode(BitmapNode.bit(this.hash, shift), new Object[] { null, this });
+            return parent.assoc(shift, hash, key, value, added);
+        }
+
+        @Override
+        public Node without(int shift, int hash, Object key) {
+            int i = indexOf(key);
+            if (i < 0) return this;
+            if (array.length == 2) return null;
+            Object[] copy = new Object[array.length - 2];
+            System.arraycopy(array, 0, copy, 0, i);
+            System.arraycopy(array, i + 2, copy, i, array.length - i - 2);
+            return new CollisionNode(hash, copy);
+        }
+
+        @Override
+        public void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                action.accept(array[i], array[i + 1]);
+            }
+        }
+    }
+}
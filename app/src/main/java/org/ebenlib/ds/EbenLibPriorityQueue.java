@@ -1,82 +1,258 @@
 package org.ebenlib.ds;
 
+import java.util.function.Predicate;
+
+/**
+ * A binary min-heap over a raw array, ordered by a comparator.
+ *
+ * An <em>indexed</em> queue (see {@link #indexed}) also tracks where each item
+ * sits in the heap, so {@link #remove(Object)}, {@link #update} and
+ * {@link #decreaseKey} run in O(log n). Items of an indexed queue must be
+ * distinct under {@code equals}. Without the index those operations fall
+ * back to a linear scan.
+ */
+@SuppressWarnings("unchecked")
 public class EbenLibPriorityQueue<T> {
-    private EbenLibList<T> heap;
-    private EbenLibComparator<T> comparator;
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private Object[] heap;
+    private int size = 0;
+    private final EbenLibComparator<T> comparator;
+    private final EbenLibObjectLongMap<T> positions;   // null unless indexed
 
     public EbenLibPriorityQueue(EbenLibComparator<T> comparator) {
+        this(comparator, false);
+    }
+
+    /** Builds a queue holding {@code items} in O(n), rather than n offers. */
+    public EbenLibPriorityQueue(EbenLibComparator<T> comparator, Iterable<? extends T> items) {
+        this(comparator, items, false);
+    }
+
+    private EbenLibPriorityQueue(EbenLibComparator<T> comparator, boolean indexed) {
         this.comparator = comparator;
-        this.heap = new EbenLibList<>();
+        this.heap = new Object[DEFAULT_CAPACITY];
+        this.positions = indexed ? new EbenLibObjectLongMap<>() : null;
+    }
+
+    private EbenLibPriorityQueue(EbenLibComparator<T> comparator, Iterable<? extends T> items, boolean indexed) {
+        this(comparator, indexed);
+        for (T item : items) {
+            if (positions != null && positions.containsKey(item)) {
+                throw new IllegalArgumentException("Item already queued: " + item);
+            }
+            ensureCapacity(size + 1);
+            heap[size] = item;
+            place(size++);
+        }
+        heapify();
+    }
+
+    // --- Static factories ---
+
+    /** Creates an empty queue that supports O(log n) update and removal of items. */
+    public static <T> EbenLibPriorityQueue<T> indexed(EbenLibComparator<T> comparator) {
+        return new EbenLibPriorityQueue<>(comparator, true);
+    }
+
+    /**
+     * Creates an indexed queue holding {@code items}, built in O(n).
+     *
+     * @throws IllegalArgumentException if {@code items} contains duplicates
+     */
+    public static <T> EbenLibPriorityQueue<T> indexed(EbenLibComparator<T> comparator, Iterable<? extends T> items) {
+        return new EbenLibPriorityQueue<>(comparator, items, true);
     }
 
+    // --- Mutators ---
+
     public void offer(T item) {
-        heap.add(item);
-        siftUp(heap.size() - 1);
+        if (positions != null && positions.containsKey(item)) {
+            throw new IllegalArgumentException("Item already queued: " + item);
+        }
+        ensureCapacity(size + 1);
+        heap[size] = item;
+        place(size);
+        siftUp(size++);
     }
 
     public T poll() {
         if (isEmpty()) throw new RuntimeException("Queue is empty");
-        T root = heap.get(0);
-        T last = heap.remove(heap.size() - 1);
-        if (!heap.isEmpty()) {
-            heap.set(0, last);
-            siftDown(0);
+        return removeAt(0);
+    }
+
+    /**
+     * Removes {@code item} from the queue.
+     *
+     * @return true if it was queued
+     */
+    public boolean remove(T item) {
+        int idx = indexOf(item);
+        if (idx < 0) return false;
+        removeAt(idx);
+        return true;
+    }
+
+    /**
+     * Restores heap order after {@code item}'s priority changed in either
+     * direction.
+     *
+     * @return true if it was queued
+     */
+    public boolean update(T item) {
+        int idx = indexOf(item);
+        if (idx < 0) return false;
+        if (siftUp(idx) == idx) siftDown(idx);
+        return true;
+    }
+
+    /**
+     * Restores heap order after {@code item} moved towards the head of the
+     * queue (its key decreased). Cheaper than {@link #update} as it only sifts up.
+     *
+     * @return true if it was queued
+     */
+    public boolean decreaseKey(T item) {
+        int idx = indexOf(item);
+        if (idx < 0) return false;
+        siftUp(idx);
+        return true;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            heap[i] = null;
         }
-        return root;
+        size = 0;
+        if (positions != null) positions.clear();
     }
 
+    // --- Accessors ---
+
     public T peek() {
         if (isEmpty()) throw new RuntimeException("Queue is empty");
-        return heap.get(0);
+        return (T) heap[0];
+    }
+
+    public boolean contains(T item) {
+        return indexOf(item) >= 0;
     }
 
     public boolean isEmpty() {
-        return heap.size() == 0;
+        return size == 0;
     }
 
     public int size() {
-        return heap.size();
+        return size;
     }
 
-    public void clear() {
-        heap.clear();
+    /**
+     * Returns the queued items for which {@code inPrefix} holds, assuming it
+     * holds for an item whenever it holds for one that sorts after it (e.g.
+     * "due before X" on a due-date queue). Visits only matching items and
+     * their children, so it costs O(m) for m matches. Order is unspecified.
+     */
+    public EbenLibList<T> headWhile(Predicate<? super T> inPrefix) {
+        EbenLibList<T> out = new EbenLibList<>();
+        if (size == 0) return out;
+        EbenLibIntList pending = EbenLibIntList.of(0);
+        while (!pending.isEmpty()) {
+            int idx = pending.removeAt(pending.size() - 1);
+            T item = (T) heap[idx];
+            if (!inPrefix.test(item)) continue;
+            out.add(item);
+            int left = 2 * idx + 1;
+            if (left < size) pending.add(left);
+            if (left + 1 < size) pending.add(left + 1);
+        }
+        return out;
     }
 
-    private void siftUp(int idx) {
-        while (idx > 0) {
-            int parent = (idx - 1) / 2;
-            if (comparator.compare(heap.get(idx), heap.get(parent)) >= 0) break;
-            swap(idx, parent);
-            idx = parent;
+    // --- Internals ---
+
+    private int indexOf(T item) {
+        if (positions != null) {
+            return (int) positions.getOrDefault(item, -1L);
+        }
+        for (int i = 0; i < size; i++) {
+            if (item == null ? heap[i] == null : item.equals(heap[i])) return i;
         }
+        return -1;
     }
 
-    private void siftDown(int idx) {
-        int size = heap.size();
-        while (true) {
-            int left = 2 * idx + 1;
-            int right = 2 * idx + 2;
-            int smallest = idx;
+    private T removeAt(int idx) {
+        T removed = (T) heap[idx];
+        if (positions != null) positions.remove(removed);
+        int last = --size;
+        Object moved = heap[last];
+        heap[last] = null;
+        if (idx != last) {
+            heap[idx] = moved;
+            place(idx);
+            if (siftUp(idx) == idx) siftDown(idx);
+        }
+        return removed;
+    }
 
-            if (left < size && comparator.compare(heap.get(left), heap.get(smallest)) < 0)
-                smallest = left;
-            if (right < size && comparator.compare(heap.get(right), heap.get(smallest)) < 0)
-                smallest = right;
+    /** Floyd's bottom-up construction. */
+    private void heapify() {
+        for (int i = (size >>> 1) - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed > heap.length) {
+            Object[] grown = new Object[Math.max(needed, heap.length * 2)];
+            System.arraycopy(heap, 0, grown, 0, size);
+            heap = grown;
+        }
+    }
+
+    /** Records the position of the item at {@code idx}, when indexed. */
+    private void place(int idx) {
+        if (positions != null) positions.put((T) heap[idx], idx);
+    }
 
-            if (smallest == idx) break;
-            swap(idx, smallest);
-            idx = smallest;
+    /** Moves the item at {@code idx} up into place; returns its final index. */
+    private int siftUp(int idx) {
+        Object item = heap[idx];
+        while (idx > 0) {
+            int parent = (idx - 1) >>> 1;
+            if (comparator.compare((T) item, (T) heap[parent]) >= 0) break;
+            heap[idx] = heap[parent];
+            place(idx);
+            idx = parent;
         }
+        heap[idx] = item;
+        place(idx);
+        return idx;
     }
 
-    private void swap(int i, int j) {
-        T temp = heap.get(i);
-        heap.set(i, heap.get(j));
-        heap.set(j, temp);
+    private void siftDown(int idx) {
+        Object item = heap[idx];
+        int half = size >>> 1;
+        while (idx < half) {
+            int child = 2 * idx + 1;
+            int right = child + 1;
+            if (right < size && comparator.compare((T) heap[right], (T) heap[child]) < 0)
+                child = right;
+            if (comparator.compare((T) item, (T) heap[child]) <= 0) break;
+            heap[idx] = heap[child];
+            place(idx);
+            idx = child;
+        }
+        heap[idx] = item;
+        place(idx);
     }
 
     @Override
     public String toString() {
-        return heap.toString();
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(heap[i]);
+        }
+        return sb.append(']').toString();
     }
 }
@@ -0,0 +1,340 @@
+package org.ebenlib.ds;
+
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A lazy, single-pass view over a sequence of elements.
+ *
+ * Intermediate operations ({@link #filter}, {@link #map}, {@link #flatMap},
+ * {@link #skip}, {@link #limit}) only wrap the source; nothing runs until a
+ * terminal operation ({@link #forEach}, {@link #reduce}, {@link #collect},
+ * {@link #toList}, ...) pulls every element through all stages in one loop,
+ * without building intermediate lists.
+ *
+ * A sequence is consumed by its terminal operation and cannot be reused.
+ *
+ * @param <T> element type
+ */
+public class EbenLibSeq<T> {
+    private final Spliterator<T> source;
+
+    private EbenLibSeq(Spliterator<T> source) {
+        this.source = source;
+    }
+
+    // --- Static factories ---
+
+    /** A sequence over the elements of {@code items}, in iteration order. */
+    public static <T> EbenLibSeq<T> of(Iterable<T> items) {
+        return new EbenLibSeq<>(items.spliterator());
+    }
+
+    /** A sequence over the elements reported by {@code spliterator}. */
+    public static <T> EbenLibSeq<T> of(Spliterator<T> spliterator) {
+        return new EbenLibSeq<>(spliterator);
+    }
+
+    // --- Intermediate operations ---
+
+    public EbenLibSeq<T> filter(Predicate<? super T> pred) {
+        return new EbenLibSeq<>(new FilterSpliterator<>(source, pred));
+    }
+
+    public <R> EbenLibSeq<R> map(EbenLibFunction<? super T, ? extends R> mapper) {
+        return new EbenLibSeq<>(new MapSpliterator<>(source, mapper));
+    }
+
+    /** Replaces each element with the elements of the iterable it maps to. */
+    public <R> EbenLibSeq<R> flatMap(EbenLibFunction<? super T, ? extends Iterable<? extends R>> mapper) {
+        return new EbenLibSeq<>(new FlatMapSpliterator<>(source, mapper));
+    }
+
+    /** Drops the first {@code n} elements. */
+    public EbenLibSeq<T> skip(long n) {
+        if (n < 0) throw new IllegalArgumentException("n must be >= 0: " + n);
+        return new EbenLibSeq<>(new SliceSpliterator<>(source, n, Long.MAX_VALUE));
+    }
+
+    /** Keeps at most the first {@code n} elements; the source is not read past them. */
+    public EbenLibSeq<T> limit(long n) {
+        if (n < 0) throw new IllegalArgumentException("n must be >= 0: " + n);
+        return new EbenLibSeq<>(new SliceSpliterator<>(source, 0, n));
+    }
+
+    // --- Terminal operations ---
+
+    public void forEach(Consumer<? super T> action) {
+        source.forEachRemaining(action);
+    }
+
+    public T reduce(T identity, BinaryOperator<T> op) {
+        return reduce(identity, (BiFunction<T, ? super T, T>) op);
+    }
+
+    public <U> U reduce(U identity, BiFunction<U, ? super T, U> accumulator) {
+        Object[] acc = { identity };
+        source.forEachRemaining(t -> acc[0] = accumulator.apply(uncheckedCast(acc[0]), t));
+        return uncheckedCast(acc[0]);
+    }
+
+    /** Folds the elements into a container made by {@code supplier}. */
+    public <R> R collect(Supplier<R> supplier, BiConsumer<R, ? super T> accumulator) {
+        R container = supplier.get();
+        source.forEachRemaining(t -> accumulator.accept(container, t));
+        return container;
+    }
+
+    public EbenLibList<T> toList() {
+        return collect(EbenLibList::new, EbenLibList::add);
+    }
+
+    public long count() {
+        long[] n = { 0 };
+        source.forEachRemaining(t -> n[0]++);
+        return n[0];
+    }
+
+    public boolean anyMatch(Predicate<? super T> pred) {
+        boolean[] hit = { false };
+        while (!hit[0] && source.tryAdvance(t -> hit[0] = pred.test(t))) {
+            // keep pulling until a match
+        }
+        return hit[0];
+    }
+
+    public Optional<T> findFirst() {
+        Object[] box = new Object[1];
+        return source.tryAdvance(t -> box[0] = t) ? Optional.ofNullable(uncheckedCast(box[0])) : Optional.empty();
+    }
+
+    public Iterator<T> iterator() {
+        return Spliterators.iterator(source);
+    }
+
+    /**
+     * Hands the pipeline to a parallel {@link Stream}. Filter, map and
+     * flatMap stages split along with the source (for a list, its backing
+     * array); skip and limit stages are not split, so work after them runs
+     * sequentially.
+     */
+    public Stream<T> parallel() {
+        return StreamSupport.stream(source, true);
+    }
+
+    /** The same pipeline as a sequential {@link Stream}. */
+    public Stream<T> stream() {
+        return StreamSupport.stream(source, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T uncheckedCast(Object o) {
+        return (T) o;
+    }
+
+    // ─── Stages ─────────────────────────────────────────────────────────────
+
+    private static final class FilterSpliterator<T> implements Spliterator<T>, Consumer<T> {
+        private final Spliterator<T> upstream;
+        private final Predicate<? super T> pred;
+        private T current;
+
+        FilterSpliterator(Spliterator<T> upstream, Predicate<? super T> pred) {
+            this.upstream = upstream;
+            this.pred = pred;
+        }
+
+        @Override
+        public void accept(T t) {
+            current = t;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            while (upstream.tryAdvance(this)) {
+                T t = current;
+                current = null;
+                if (pred.test(t)) {
+                    action.accept(t);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            upstream.forEachRemaining(t -> {
+                if (pred.test(t)) action.accept(t);
+            });
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            Spliterator<T> prefix = upstream.trySplit();
+            return prefix == null ? null : new FilterSpliterator<>(prefix, pred);
+        }
+
+        @Override
+        public long estimateSize() {
+            return upstream.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return upstream.characteristics() & ~(SIZED | SUBSIZED);
+        }
+    }
+
+    private static final class MapSpliterator<T, R> implements Spliterator<R> {
+        private final Spliterator<T> upstream;
+        private final EbenLibFunction<? super T, ? extends R> mapper;
+
+        MapSpliterator(Spliterator<T> upstream, EbenLibFunction<? super T, ? extends R> mapper) {
+            this.upstream = upstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super R> action) {
+            return upstream.tryAdvance(t -> action.accept(mapper.apply(t)));
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super R> action) {
+            upstream.forEachRemaining(t -> action.accept(mapper.apply(t)));
+        }
+
+        @Override
+        public Spliterator<R> trySplit() {
+            Spliterator<T> prefix = upstream.trySplit();
+            return prefix == null ? null : new MapSpliterator<>(prefix, mapper);
+        }
+
+        @Override
+        public long estimateSize() {
+            return upstream.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return upstream.characteristics() & ~(DISTINCT | SORTED | NONNULL);
+        }
+    }
+
+    private static final class FlatMapSpliterator<T, R> implements Spliterator<R> {
+        private final Spliterator<T> upstream;
+        private final EbenLibFunction<? super T, ? extends Iterable<? extends R>> mapper;
+        private Iterator<? extends R> inner;
+
+        FlatMapSpliterator(Spliterator<T> upstream,
+                           EbenLibFunction<? super T, ? extends Iterable<? extends R>> mapper) {
+            this.upstream = upstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super R> action) {
+            while (inner == null || !inner.hasNext()) {
+                if (!upstream.tryAdvance(t -> inner = mapper.apply(t).iterator())) {
+                    return false;
+                }
+            }
+            action.accept(inner.next());
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super R> action) {
+            if (inner != null) {
+                inner.forEachRemaining(action);
+                inner = null;
+            }
+            upstream.forEachRemaining(t -> {
+                for (R r : mapper.apply(t)) action.accept(r);
+            });
+        }
+
+        @Override
+        public Spliterator<R> trySplit() {
+            if (inner != null) return null;
+            Spliterator<T> prefix = upstream.trySplit();
+            return prefix == null ? null : new FlatMapSpliterator<>(prefix, mapper);
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return upstream.characteristics() & ORDERED;
+        }
+    }
+
+    /** Skips {@code skip} elements, then passes at most {@code limit}. Never splits. */
+    private static final class SliceSpliterator<T> implements Spliterator<T> {
+        private final Spliterator<T> upstream;
+        private long skip;
+        private long remaining;
+
+        SliceSpliterator(Spliterator<T> upstream, long skip, long limit) {
+            this.upstream = upstream;
+            this.skip = skip;
+            this.remaining = limit;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            while (skip > 0) {
+                if (!upstream.tryAdvance(t -> { })) return false;
+                skip--;
+            }
+            if (remaining <= 0) return false;
+            if (remaining != Long.MAX_VALUE) remaining--;
+            return upstream.tryAdvance(action);
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            if (remaining == Long.MAX_VALUE) {
+                // skip only: drop the prefix, then stream the rest in bulk
+                while (skip > 0 && upstream.tryAdvance(t -> { })) {
+                    skip--;
+                }
+                if (skip == 0) upstream.forEachRemaining(action);
+                return;
+            }
+            while (tryAdvance(action)) {
+                // stops as soon as the limit is reached
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            long left = Math.max(0, upstream.estimateSize() - skip);
+            return Math.min(left, remaining);
+        }
+
+        @Override
+        public int characteristics() {
+            return upstream.characteristics() & ~(SIZED | SUBSIZED);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package org.ebenlib.ds;
+
+/**
+ * Keeps the {@code k} greatest items offered to it, under a comparator.
+ *
+ * Backed by a size-k min-heap whose root is the weakest item kept, so an
+ * offer that does not beat the root is rejected with a single comparison
+ * and no allocation. Streaming n items costs O(n log k) time and O(k) memory.
+ *
+ * Among equal items the earlier-offered ones win, which matches a stable
+ * descending sort followed by taking the first k.
+ *
+ * @param <T> item type
+ */
+@SuppressWarnings("unchecked")
+public class EbenLibTopK<T> {
+    private final int k;
+    private final EbenLibComparator<T> comparator;
+    private final Object[] heap;
+    private final long[] order;   // offer sequence, breaks ties
+    private int size = 0;
+    private long offered = 0;
+
+    /**
+     * @param k          number of items to keep
+     * @param comparator ranks items; greater means better
+     */
+    public EbenLibTopK(int k, EbenLibComparator<T> comparator) {
+        if (k < 0) throw new IllegalArgumentException("k must be >= 0: " + k);
+        this.k = k;
+        this.comparator = comparator;
+        this.heap = new Object[k];
+        this.order = new long[k];
+    }
+
+    /** Returns the best {@code k} items of {@code items}, best first. */
+    public static <T> EbenLibList<T> topK(Iterable<T> items, int k, EbenLibComparator<T> comparator) {
+        EbenLibTopK<T> top = new EbenLibTopK<>(k, comparator);
+        for (T item : items) {
+            top.offer(item);
+        }
+        return top.toSortedList();
+    }
+
+    /**
+     * Offers an item.
+     *
+     * @return true if it is (for now) among the top k
+     */
+    public boolean offer(T item) {
+        long seq = offered++;
+        if (size < k) {
+            heap[size] = item;
+            order[size] = seq;
+            siftUp(size++);
+            return true;
+        }
+        // ties lose to the earlier-offered root
+        if (k == 0 || comparator.compare(item, (T) heap[0]) <= 0) {
+            return false;
+        }
+        heap[0] = item;
+        order[0] = seq;
+        siftDown(0);
+        return true;
+    }
+
+    /** @return the weakest item currently kept, or null if empty. */
+    public T peekWeakest() {
+        return size == 0 ? null : (T) heap[0];
+    }
+
+    /** @return true once k items are held. */
+    public boolean isFull() {
+        return size == k;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Returns the kept items ordered best first. Does not modify this selector. */
+    public EbenLibList<T> toSortedList() {
+        Object[] items = new Object[size];
+        long[] seqs = new long[size];
+        System.arraycopy(heap, 0, items, 0, size);
+        System.arraycopy(order, 0, seqs, 0, size);
+        // k is small: insertion sort, best first
+        for (int i = 1; i < size; i++) {
+            Object x = items[i];
+            long s = seqs[i];
+            int j = i - 1;
+            while (j >= 0 && worse(items[j], seqs[j], x, s)) {
+                items[j + 1] = items[j];
+                seqs[j + 1] = seqs[j];
+                j--;
+            }
+            items[j + 1] = x;
+            seqs[j + 1] = s;
+        }
+        EbenLibList<T> out = new EbenLibList<>();
+        for (Object item : items) {
+            out.add((T) item);
+        }
+        return out;
+    }
+
+    /** True if item a (offered at sa) ranks below item b (offered at sb). */
+    private boolean worse(Object a, long sa, Object b, long sb) {
+        int c = comparator.compare((T) a, (T) b);
+        return c < 0 || (c == 0 && sa > sb);
+    }
+
+    private void siftUp(int idx) {
+        while (idx > 0) {
+            int parent = (idx - 1) >>> 1;
+            if (!worse(heap[idx], order[idx], heap[parent], order[parent])) break;
+            swap(idx, parent);
+            idx = parent;
+        }
+    }
+
+    private void siftDown(int idx) {
+        while (true) {
+            int left = 2 * idx + 1;
+            int right = left + 1;
+            int weakest = idx;
+            if (left < size && worse(heap[left], order[left], heap[weakest], order[weakest])) weakest = left;
+            if (right < size && worse(heap[right], order[right], heap[weakest], order[weakest])) weakest = right;
+            if (weakest == idx) break;
+            swap(idx, weakest);
+            idx = weakest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        Object t = heap[i];
+        heap[i] = heap[j];
+        heap[j] = t;
+        long s = order[i];
+        order[i] = order[j];
+        order[j] = s;
+    }
+}
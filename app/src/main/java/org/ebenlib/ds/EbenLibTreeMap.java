@@ -0,0 +1,679 @@
+package org.ebenlib.ds;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+
+/**
+ * A sorted map backed by a red-black tree, ordered by an {@link EbenLibComparator}.
+ *
+ * Besides the usual {@link EbenLibMap}-style API it offers navigation
+ * (floor / ceiling / lower / higher) and range views (headMap / tailMap /
+ * subMap). Views are live: they share the same tree as the map they came
+ * from, so writes through either are visible in both. Range queries cost
+ * O(log n + k) and iteration is always in key order.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class EbenLibTreeMap<K, V> implements Iterable<EbenLibMapEntry<K, V>> {
+    private static final boolean RED = false;
+    private static final boolean BLACK = true;
+
+    /** Tree node; doubles as the entry handed out by iteration. */
+    private static final class Node<K, V> extends EbenLibMapEntry<K, V> {
+        Node<K, V> left, right, parent;
+        boolean color = BLACK;
+
+        Node(K key, V value, Node<K, V> parent) {
+            super(key, value);
+            this.parent = parent;
+        }
+    }
+
+    /** The shared tree state; a map and all of its views point at the same one. */
+    private static final class Tree<K, V> {
+        final EbenLibComparator<K> cmp;
+        Node<K, V> root;
+        int size;
+
+        Tree(EbenLibComparator<K> cmp) {
+            this.cmp = cmp;
+        }
+    }
+
+    private final Tree<K, V> tree;
+
+    // view bounds; both ends open when this is the full map
+    private final boolean hasLo, loInclusive, hasHi, hiInclusive;
+    private final K lo, hi;
+
+    /** Constructs an empty map ordered by {@code cmp}. */
+    public EbenLibTreeMap(EbenLibComparator<K> cmp) {
+        this(new Tree<>(cmp), false, null, false, false, null, false);
+    }
+
+    private EbenLibTreeMap(Tree<K, V> tree,
+                           boolean hasLo, K lo, boolean loInclusive,
+                           boolean hasHi, K hi, boolean hiInclusive) {
+        this.tree = tree;
+        this.hasLo = hasLo;
+        this.lo = lo;
+        this.loInclusive = loInclusive;
+        this.hasHi = hasHi;
+        this.hi = hi;
+        this.hiInclusive = hiInclusive;
+    }
+
+    /** Creates an empty map ordered by the keys' natural order. */
+    public static <K extends Comparable<? super K>, V> EbenLibTreeMap<K, V> naturalOrder() {
+        return new EbenLibTreeMap<>(EbenLibComparator.<K>naturalOrder());
+    }
+
+    // --- Mutators ---
+
+    /**
+     * Associates the specified value with the specified key.
+     * Returns the old value, or null if none.
+     *
+     * @throws IllegalArgumentException if this is a view and the key is outside its range
+     */
+    public V put(K key, V value) {
+        checkInRange(key);
+        Node<K, V> t = tree.root;
+        if (t == null) {
+            tree.root = new Node<>(key, value, null);
+            tree.size = 1;
+            return null;
+        }
+        Node<K, V> parent;
+        int c;
+        do {
+            parent = t;
+            c = tree.cmp.compare(key, t.getKey());
+            if (c < 0) t = t.left;
+            else if (c > 0) t = t.right;
+            else {
+                V old = t.getValue();
+                t.setValue(value);
+                return old;
+            }
+        } while (t != null);
+        Node<K, V> n = new Node<>(key, value, parent);
+        if (c < 0) parent.left = n; else parent.right = n;
+        fixAfterInsertion(n);
+        tree.size++;
+        return null;
+    }
+
+    /**
+     * If the key is absent, associates it with {@code value}; otherwise
+     * replaces the current value with {@code remappingFunction(old, value)}.
+     */
+    public void merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        Node<K, V> n = inRange(key) ? getNode(key) : null;
+        if (n != null) {
+            n.setValue(remappingFunction.apply(n.getValue(), value));
+        } else {
+            put(key, value);
+        }
+    }
+
+    /**
+     * Removes the mapping for the specified key if present.
+     * Returns the previous value, or null if none.
+     */
+    public V remove(K key) {
+        if (!inRange(key)) return null;
+        Node<K, V> n = getNode(key);
+        if (n == null) return null;
+        V old = n.getValue();
+        deleteNode(n);
+        return old;
+    }
+
+    /** Removes all mappings (within the view's range, for a view). */
+    public void clear() {
+        if (isFullMap()) {
+            tree.root = null;
+            tree.size = 0;
+            return;
+        }
+        Node<K, V> n = absLowest();
+        while (n != null) {
+            Node<K, V> next = nextInRange(n);
+            deleteNode(n);
+            n = next;
+        }
+    }
+
+    // --- Accessors ---
+
+    /** Returns the value to which the specified key is mapped, or null if none. */
+    public V get(K key) {
+        if (!inRange(key)) return null;
+        Node<K, V> n = getNode(key);
+        return n == null ? null : n.getValue();
+    }
+
+    /** Returns the value or default if key not present. */
+    public V getOrDefault(K key, V defaultValue) {
+        if (!inRange(key)) return defaultValue;
+        Node<K, V> n = getNode(key);
+        return n == null ? defaultValue : n.getValue();
+    }
+
+    /** Returns true if this map contains a mapping for the key. */
+    public boolean containsKey(K key) {
+        return inRange(key) && getNode(key) != null;
+    }
+
+    /** @return number of key-value mappings (O(k) for a view). */
+    public int size() {
+        if (isFullMap()) return tree.size;
+        int count = 0;
+        for (Node<K, V> n = absLowest(); n != null; n = nextInRange(n)) {
+            count++;
+        }
+        return count;
+    }
+
+    /** @return true if no mappings. */
+    public boolean isEmpty() {
+        return isFullMap() ? tree.size == 0 : absLowest() == null;
+    }
+
+    // --- Navigation ---
+
+    /** @return the lowest entry, or null if empty. */
+    public EbenLibMapEntry<K, V> firstEntry() {
+        return absLowest();
+    }
+
+    /** @return the highest entry, or null if empty. */
+    public EbenLibMapEntry<K, V> lastEntry() {
+        return absHighest();
+    }
+
+    /** @return the lowest key, or null if empty. */
+    public K firstKey() {
+        return keyOf(absLowest());
+    }
+
+    /** @return the highest key, or null if empty. */
+    public K lastKey() {
+        return keyOf(absHighest());
+    }
+
+    /** @return the entry with the greatest key ≤ {@code key}, or null. */
+    public EbenLibMapEntry<K, V> floorEntry(K key) {
+        return boundedBelow(key, true);
+    }
+
+    /** @return the entry with the greatest key &lt; {@code key}, or null. */
+    public EbenLibMapEntry<K, V> lowerEntry(K key) {
+        return boundedBelow(key, false);
+    }
+
+    /** @return the entry with the least key ≥ {@code key}, or null. */
+    public EbenLibMapEntry<K, V> ceilingEntry(K key) {
+        return boundedAbove(key, true);
+    }
+
+    /** @return the entry with the least key &gt; {@code key}, or null. */
+    public EbenLibMapEntry<K, V> higherEntry(K key) {
+        return boundedAbove(key, false);
+    }
+
+    public K floorKey(K key)   { return keyOf(floorEntry(key)); }
+    public K lowerKey(K key)   { return keyOf(lowerEntry(key)); }
+    public K ceilingKey(K key) { return keyOf(ceilingEntry(key)); }
+    public K higherKey(K key)  { return keyOf(higherEntry(key)); }
+
+    // --- Range views ---
+
+    /** Live view of the keys strictly less than (or equal to, if inclusive) {@code toKey}. */
+    public EbenLibTreeMap<K, V> headMap(K toKey, boolean inclusive) {
+        return view(false, null, false, true, toKey, inclusive);
+    }
+
+    /** Live view of the keys greater than (or equal to, if inclusive) {@code fromKey}. */
+    public EbenLibTreeMap<K, V> tailMap(K fromKey, boolean inclusive) {
+        return view(true, fromKey, inclusive, false, null, false);
+    }
+
+    /** Live view of the keys between {@code fromKey} and {@code toKey}. */
+    public EbenLibTreeMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+        if (tree.cmp.compare(fromKey, toKey) > 0) {
+            throw new IllegalArgumentException("fromKey > toKey");
+        }
+        return view(true, fromKey, fromInclusive, true, toKey, toInclusive);
+    }
+
+    /** Same as {@code headMap(toKey, false)}. */
+    public EbenLibTreeMap<K, V> headMap(K toKey) {
+        return headMap(toKey, false);
+    }
+
+    /** Same as {@code tailMap(fromKey, true)}. */
+    public EbenLibTreeMap<K, V> tailMap(K fromKey) {
+        return tailMap(fromKey, true);
+    }
+
+    /** Same as {@code subMap(fromKey, true, toKey, false)}. */
+    public EbenLibTreeMap<K, V> subMap(K fromKey, K toKey) {
+        return subMap(fromKey, true, toKey, false);
+    }
+
+    /** Narrows this map's range by the given bounds (intersecting with any existing ones). */
+    private EbenLibTreeMap<K, V> view(boolean newHasLo, K newLo, boolean newLoInc,
+                                      boolean newHasHi, K newHi, boolean newHiInc) {
+        boolean vHasLo = hasLo, vLoInc = loInclusive, vHasHi = hasHi, vHiInc = hiInclusive;
+        K vLo = lo, vHi = hi;
+        if (newHasLo) {
+            int c = hasLo ? tree.cmp.compare(newLo, lo) : 1;
+            if (c > 0 || (c == 0 && !newLoInc)) {
+                vHasLo = true; vLo = newLo; vLoInc = newLoInc;
+            }
+        }
+        if (newHasHi) {
+            int c = hasHi ? tree.cmp.compare(newHi, hi) : -1;
+            if (c < 0 || (c == 0 && !newHiInc)) {
+                vHasHi = true; vHi = newHi; vHiInc = newHiInc;
+            }
+        }
+        return new EbenLibTreeMap<>(tree, vHasLo, vLo, vLoInc, vHasHi, vHi, vHiInc);
+    }
+
+    // --- Views ---
+
+    /** Returns a list of keys in ascending order. */
+    public EbenLibList<K> keySet() {
+        EbenLibList<K> keys = new EbenLibList<>();
+        for (Node<K, V> n = absLowest(); n != null; n = nextInRange(n)) {
+            keys.add(n.getKey());
+        }
+        return keys;
+    }
+
+    /** Returns a list of values, ordered by their keys. */
+    public EbenLibList<V> values() {
+        EbenLibList<V> vals = new EbenLibList<>();
+        for (Node<K, V> n = absLowest(); n != null; n = nextInRange(n)) {
+            vals.add(n.getValue());
+        }
+        return vals;
+    }
+
+    /** Returns a list of entries in ascending key order. */
+    public EbenLibList<EbenLibMapEntry<K, V>> entrySet() {
+        EbenLibList<EbenLibMapEntry<K, V>> entries = new EbenLibList<>();
+        for (Node<K, V> n = absLowest(); n != null; n = nextInRange(n)) {
+            entries.add(n);
+        }
+        return entries;
+    }
+
+    // --- Iterable ---
+
+    /** Iterates over the entries in ascending key order. */
+    @Override
+    public Iterator<EbenLibMapEntry<K, V>> iterator() {
+        return new Iterator<>() {
+            private Node<K, V> next = absLowest();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public EbenLibMapEntry<K, V> next() {
+                if (next == null) throw new NoSuchElementException();
+                Node<K, V> n = next;
+                next = nextInRange(n);
+                return n;
+            }
+        };
+    }
+
+    // ─── Range helpers ──────────────────────────────────────────────────────
+
+    private boolean isFullMap() {
+        return !hasLo && !hasHi;
+    }
+
+    private boolean tooLow(K key) {
+        if (!hasLo) return false;
+        int c = tree.cmp.compare(key, lo);
+        return c < 0 || (c == 0 && !loInclusive);
+    }
+
+    private boolean tooHigh(K key) {
+        if (!hasHi) return false;
+        int c = tree.cmp.compare(key, hi);
+        return c > 0 || (c == 0 && !hiInclusive);
+    }
+
+    private boolean inRange(K key) {
+        return !tooLow(key) && !tooHigh(key);
+    }
+
+    private void checkInRange(K key) {
+        if (!inRange(key)) {
+            throw new IllegalArgumentException("Key out of range: " + key);
+        }
+    }
+
+    private static <K> K keyOf(EbenLibMapEntry<K, ?> e) {
+        return e == null ? null : e.getKey();
+    }
+
+    private Node<K, V> absLowest() {
+        Node<K, V> n = !hasLo ? first() : (loInclusive ? ceilingNode(lo) : higherNode(lo));
+        return (n == null || tooHigh(n.getKey())) ? null : n;
+    }
+
+    private Node<K, V> absHighest() {
+        Node<K, V> n = !hasHi ? last() : (hiInclusive ? floorNode(hi) : lowerNode(hi));
+        return (n == null || tooLow(n.getKey())) ? null : n;
+    }
+
+    private Node<K, V> nextInRange(Node<K, V> n) {
+        Node<K, V> s = successor(n);
+        return (s == null || tooHigh(s.getKey())) ? null : s;
+    }
+
+    private Node<K, V> boundedBelow(K key, boolean inclusive) {
+        if (tooHigh(key)) return absHighest();
+        Node<K, V> n = inclusive ? floorNode(key) : lowerNode(key);
+        return (n == null || tooLow(n.getKey())) ? null : n;
+    }
+
+    private Node<K, V> boundedAbove(K key, boolean inclusive) {
+        if (tooLow(key)) return absLowest();
+        Node<K, V> n = inclusive ? ceilingNode(key) : higherNode(key);
+        return (n == null || tooHigh(n.getKey())) ? null : n;
+    }
+
+    // ─── Tree search ────────────────────────────────────────────────────────
+
+    private Node<K, V> getNode(K key) {
+        Node<K, V> t = tree.root;
+        while (t != null) {
+            int c = tree.cmp.compare(key, t.getKey());
+            if (c < 0) t = t.left;
+            else if (c > 0) t = t.right;
+            else return t;
+        }
+        return null;
+    }
+
+    private Node<K, V> first() {
+        Node<K, V> t = tree.root;
+        if (t != null) while (t.left != null) t = t.left;
+        return t;
+    }
+
+    private Node<K, V> last() {
+        Node<K, V> t = tree.root;
+        if (t != null) while (t.right != null) t = t.right;
+        return t;
+    }
+
+    private Node<K, V> floorNode(K key)   { return below(key, true); }
+    private Node<K, V> lowerNode(K key)   { return below(key, false); }
+    private Node<K, V> ceilingNode(K key) { return above(key, true); }
+    private Node<K, V> higherNode(K key)  { return above(key, false); }
+
+    /** Greatest node with key &lt; {@code key} (or ≤ when inclusive). */
+    private Node<K, V> below(K key, boolean inclusive) {
+        Node<K, V> t = tree.root, best = null;
+        while (t != null) {
+            int c = tree.cmp.compare(key, t.getKey());
+            if (c > 0 || (c == 0 && inclusive)) {
+                if (c == 0) return t;
+                best = t;
+                t = t.right;
+            } else {
+                t = t.left;
+            }
+        }
+        return best;
+    }
+
+    /** Least node with key &gt; {@code key} (or ≥ when inclusive). */
+    private Node<K, V> above(K key, boolean inclusive) {
+        Node<K, V> t = tree.root, best = null;
+        while (t != null) {
+            int c = tree.cmp.compare(key, t.getKey());
+            if (c < 0 || (c == 0 && inclusive)) {
+                if (c == 0) return t;
+                best = t;
+                t = t.left;
+            } else {
+                t = t.right;
+            }
+        }
+        return best;
+    }
+
+    private static <K, V> Node<K, V> successor(Node<K, V> t) {
+        if (t.right != null) {
+            Node<K, V> p = t.right;
+            while (p.left != null) p = p.left;
+            return p;
+        }
+        Node<K, V> p = t.parent, ch = t;
+        while (p != null && ch == p.right) {
+            ch = p;
+            p = p.parent;
+        }
+        return p;
+    }
+
+    // ─── Red-black balancing ────────────────────────────────────────────────
+
+    private static <K, V> boolean colorOf(Node<K, V> n) {
+        return n == null ? BLACK : n.color;
+    }
+
+    private static <K, V> Node<K, V> parentOf(Node<K, V> n) {
+        return n == null ? null : n.parent;
+    }
+
+    private static <K, V> void setColor(Node<K, V> n, boolean c) {
+        if (n != null) n.color = c;
+    }
+
+    private static <K, V> Node<K, V> leftOf(Node<K, V> n) {
+        return n == null ? null : n.left;
+    }
+
+    private static <K, V> Node<K, V> rightOf(Node<K, V> n) {
+        return n == null ? null : n.right;
+    }
+
+    private void rotateLeft(Node<K, V> p) {
+        if (p == null) return;
+        Node<K, V> r = p.right;
+        p.right = r.left;
+        if (r.left != null) r.left.parent = p;
+        r.parent = p.parent;
+        if (p.parent == null) tree.root = r;
+        else if (p.parent.left == p) p.parent.left = r;
+        else p.parent.right = r;
+        r.left = p;
+        p.parent = r;
+    }
+
+    private void rotateRight(Node<K, V> p) {
+        if (p == null) return;
+        Node<K, V> l = p.left;
+        p.left = l.right;
+        if (l.right != null) l.right.parent = p;
+        l.parent = p.parent;
+        if (p.parent == null) tree.root = l;
+        else if (p.parent.right == p) p.parent.right = l;
+        else p.parent.left = l;
+        l.right = p;
+        p.parent = l;
+    }
+
+    private void fixAfterInsertion(Node<K, V> x) {
+        x.color = RED;
+        while (x != null && x != tree.root && x.parent.color == RED) {
+            if (parentOf(x) == leftOf(parentOf(parentOf(x)))) {
+                Node<K, V> y = rightOf(parentOf(parentOf(x)));
+                if (colorOf(y) == RED) {
+                    setColor(parentOf(x), BLACK);
+                    setColor(y, BLACK);
+                    setColor(parentOf(parentOf(x)), RED);
+                    x = parentOf(parentOf(x));
+                } else {
+                    if (x == rightOf(parentOf(x))) {
+                        x = parentOf(x);
+                        rotateLeft(x);
+                    }
+                    setColor(parentOf(x), BLACK);
+                    setColor(parentOf(parentOf(x)), RED);
+                    rotateRight(parentOf(parentOf(x)));
+                }
+            } else {
+                Node<K, V> y = leftOf(parentOf(parentOf(x)));
+                if (colorOf(y) == RED) {
+                    setColor(parentOf(x), BLACK);
+                    setColor(y, BLACK);
+                    setColor(parentOf(parentOf(x)), RED);
+                    x = parentOf(parentOf(x));
+                } else {
+                    if (x == leftOf(parentOf(x))) {
+                        x = parentOf(x);
+                        rotateRight(x);
+                    }
+                    setColor(parentOf(x), BLACK);
+                    setColor(parentOf(parentOf(x)), RED);
+                    rotateLeft(parentOf(parentOf(x)));
+                }
+            }
+        }
+        tree.root.color = BLACK;
+    }
+
+    private void deleteNode(Node<K, V> p) {
+        tree.size--;
+
+        // two children: move p down into its successor's slot so it has at most one
+        if (p.left != null && p.right != null) {
+            swapWithSuccessor(p, successor(p));
+        }
+
+        Node<K, V> replacement = (p.left != null ? p.left : p.right);
+        if (replacement != null) {
+            replacement.parent = p.parent;
+            if (p.parent == null) tree.root = replacement;
+            else if (p == p.parent.left) p.parent.left = replacement;
+            else p.parent.right = replacement;
+            p.left = p.right = p.parent = null;
+            if (p.color == BLACK) fixAfterDeletion(replacement);
+        } else if (p.parent == null) {
+            tree.root = null;
+        } else {
+            if (p.color == BLACK) fixAfterDeletion(p);
+            if (p.parent != null) {
+                if (p == p.parent.left) p.parent.left = null;
+                else if (p == p.parent.right) p.parent.right = null;
+                p.parent = null;
+            }
+        }
+    }
+
+    /**
+     * Exchanges the tree positions (links and colours) of {@code p} and its
+     * in-order successor {@code s}. Nodes are moved rather than having their
+     * entries copied, so entries already handed out stay attached to their keys.
+     */
+    private void swapWithSuccessor(Node<K, V> p, Node<K, V> s) {
+        boolean c = p.color;
+        p.color = s.color;
+        s.color = c;
+
+        Node<K, V> pParent = p.parent, pLeft = p.left, pRight = p.right;
+        Node<K, V> sParent = s.parent, sRight = s.right;
+
+        s.parent = pParent;
+        if (pParent == null) tree.root = s;
+        else if (pParent.left == p) pParent.left = s;
+        else pParent.right = s;
+        s.left = pLeft;
+        pLeft.parent = s;
+        if (pRight == s) {
+            s.right = p;
+            p.parent = s;
+        } else {
+            // s is the leftmost node of p's right subtree
+            s.right = pRight;
+            pRight.parent = s;
+            p.parent = sParent;
+            sParent.left = p;
+        }
+        p.left = null;
+        p.right = sRight;
+        if (sRight != null) sRight.parent = p;
+    }
+
+    private void fixAfterDeletion(Node<K, V> x) {
+        while (x != tree.root && colorOf(x) == BLACK) {
+            if (x == leftOf(parentOf(x))) {
+                Node<K, V> sib = rightOf(parentOf(x));
+                if (colorOf(sib) == RED) {
+                    setColor(sib, BLACK);
+                    setColor(parentOf(x), RED);
+                    rotateLeft(parentOf(x));
+                    sib = rightOf(parentOf(x));
+                }
+                if (colorOf(leftOf(sib)) == BLACK && colorOf(rightOf(sib)) == BLACK) {
+                    setColor(sib, RED);
+                    x = parentOf(x);
+                } else {
+                    if (colorOf(rightOf(sib)) == BLACK) {
+                        setColor(leftOf(sib), BLACK);
+                        setColor(sib, RED);
+                        rotateRight(sib);
+                        sib = rightOf(parentOf(x));
+                    }
+                    setColor(sib, colorOf(parentOf(x)));
+                    setColor(parentOf(x), BLACK);
+                    setColor(rightOf(sib), BLACK);
+                    rotateLeft(parentOf(x));
+                    x = tree.root;
+                }
+            } else {
+                Node<K, V> sib = leftOf(parentOf(x));
+                if (colorOf(sib) == RED) {
+                    setColor(sib, BLACK);
+                    setColor(parentOf(x), RED);
+                    rotateRight(parentOf(x));
+                    sib = leftOf(parentOf(x));
+                }
+                if (colorOf(rightOf(sib)) == BLACK && colorOf(leftOf(sib)) == BLACK) {
+                    setColor(sib, RED);
+                    x = parentOf(x);
+                } else {
+                    if (colorOf(leftOf(sib)) == BLACK) {
+                        setColor(rightOf(sib), BLACK);
+                        setColor(sib, RED);
+                        rotateLeft(sib);
+                        sib = leftOf(parentOf(x));
+                    }
+                    setColor(sib, colorOf(parentOf(x)));
+                    setColor(parentOf(x), BLACK);
+                    setColor(leftOf(sib), BLACK);
+                    rotateRight(parentOf(x));
+                    x = tree.root;
+                }
+            }
+        }
+        setColor(x, BLACK);
+    }
+}
@@ -0,0 +1,104 @@
+package org.ebenlib.ds;
+
+/**
+ * {@link ProbeTable} keyed by objects: keys live in an {@code Object[]}
+ * beside an {@code int[]} of their cached hashes, and subclasses add a
+ * parallel value array.
+ *
+ * A null slot means "empty", so a {@code null} key is stored as
+ * {@link #NULL_KEY}.
+ */
+abstract class ObjectProbeTable extends ProbeTable {
+    /** Stands in for a {@code null} key, since a null slot means "empty". */
+    static final Object NULL_KEY = new Object();
+
+    Object[] keys;
+    int[] hashes;
+
+    static Object mask(Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    static Object unmask(Object key) {
+        return key == NULL_KEY ? null : key;
+    }
+
+    /** Spreads the high bits downward so power-of-two masking sees them. */
+    static int hash(Object maskedKey) {
+        int h = maskedKey.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /** Replaces the value array with an empty one of {@code capacity} slots. */
+    abstract void allocateValues(int capacity);
+
+    /** Moves a value between slots of the value array. */
+    abstract void moveValue(int from, int to);
+
+    /** Drops the value in {@code slot}. */
+    abstract void freeValue(int slot);
+
+    @Override
+    final void allocate(int capacity) {
+        keys = new Object[capacity];
+        hashes = new int[capacity];
+        allocateValues(capacity);
+    }
+
+    @Override
+    final int capacity() {
+        return keys.length;
+    }
+
+    @Override
+    final boolean isFree(int slot) {
+        return keys[slot] == null;
+    }
+
+    @Override
+    final int hashAt(int slot) {
+        return hashes[slot];
+    }
+
+    @Override
+    final void moveSlot(int from, int to) {
+        keys[to] = keys[from];
+        hashes[to] = hashes[from];
+        moveValue(from, to);
+    }
+
+    @Override
+    final void freeSlot(int slot) {
+        keys[slot] = null;
+        hashes[slot] = 0;
+        freeValue(slot);
+    }
+
+    /**
+     * Slot holding the masked key {@code k} with hash {@code h}; if it is
+     * absent, {@code ~slot} of the free slot where it would go.
+     */
+    final int probe(Object k, int h) {
+        int m = keys.length - 1;
+        int i = h & m;
+        Object cur;
+        while ((cur = keys[i]) != null) {
+            if (hashes[i] == h && (cur == k || cur.equals(k))) return i;
+            i = (i + 1) & m;
+        }
+        return ~i;
+    }
+
+    /** Returns the slot holding {@code key}, or -1 if absent. */
+    final int indexOf(Object key) {
+        Object k = mask(key);
+        int i = probe(k, hash(k));
+        return i >= 0 ? i : -1;
+    }
+
+    /** Stores a new key in the free slot {@code i}; the caller sets the value and size. */
+    final void claim(int i, Object k, int h) {
+        keys[i] = k;
+        hashes[i] = h;
+    }
+}
@@ -0,0 +1,98 @@
+package org.ebenlib.ds;
+
+/**
+ * Linear-probing core shared by the open-addressing maps
+ * ({@link EbenLibOpenHashMap}, {@link EbenLibObjectLongMap},
+ * {@link EbenLibIntObjectMap}).
+ *
+ * Subclasses own the slot arrays and say how to test, move and free a slot;
+ * this class sizes the power-of-two table, finds free slots, and does
+ * backward-shift deletion, so the table never fills up with tombstones.
+ */
+abstract class ProbeTable {
+    static final int INITIAL_CAPACITY = 16;
+    static final double LOAD_FACTOR = 0.75;
+
+    int size = 0;
+    int threshold;
+
+    /** Smallest table that holds {@code expectedSize} entries without resizing. */
+    static int capacityFor(int expectedSize) {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity * LOAD_FACTOR < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /** Replaces the slot arrays with empty ones of {@code capacity} slots. */
+    abstract void allocate(int capacity);
+
+    abstract int capacity();
+
+    abstract boolean isFree(int slot);
+
+    /** Spread hash of the key in an occupied slot. */
+    abstract int hashAt(int slot);
+
+    /** Moves the entry in slot {@code from} to the free slot {@code to}. */
+    abstract void moveSlot(int from, int to);
+
+    /** Empties a slot, dropping its references. */
+    abstract void freeSlot(int slot);
+
+    /** Allocates an empty table of {@code capacity} slots. */
+    final void init(int capacity) {
+        allocate(capacity);
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /** First free slot at or after the home slot of {@code hash}. */
+    final int firstFree(int hash) {
+        int m = capacity() - 1;
+        int i = hash & m;
+        while (!isFree(i)) {
+            i = (i + 1) & m;
+        }
+        return i;
+    }
+
+    /**
+     * Empties slot {@code i} and shifts later members of the probe run
+     * back so that every remaining key is still reachable from its home slot.
+     */
+    final void deleteSlot(int i) {
+        int m = capacity() - 1;
+        int gap = i;
+        int j = i;
+        while (true) {
+            j = (j + 1) & m;
+            if (isFree(j)) break;
+            int home = hashAt(j) & m;
+            // move j into the gap unless its home lies cyclically in (gap, j]
+            boolean reachable = gap <= j ? (gap < home && home <= j) : (gap < home || home <= j);
+            if (!reachable) {
+                moveSlot(j, gap);
+                gap = j;
+            }
+        }
+        freeSlot(gap);
+        size--;
+    }
+
+    /** Removes all mappings and shrinks back to the initial capacity. */
+    public void clear() {
+        init(INITIAL_CAPACITY);
+        size = 0;
+    }
+
+    /** @return number of key-value mappings. */
+    public int size() {
+        return size;
+    }
+
+    /** @return true if no mappings. */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
@@ -2,10 +2,14 @@ package org.ebenlib.report;
 
 import org.ebenlib.cli.ConsoleUI;
 import org.ebenlib.ds.EbenLibComparator;
+import org.ebenlib.ds.EbenLibHashSet;
 import org.ebenlib.ds.EbenLibList;
 import org.ebenlib.ds.EbenLibMap;
 import org.ebenlib.ds.EbenLibMapEntry;
-import org.ebenlib.searchsort.Sorter;
+import org.ebenlib.ds.EbenLibObjectLongMap;
+import org.ebenlib.ds.EbenLibPersistentList;
+import org.ebenlib.ds.EbenLibTopK;
+import org.ebenlib.ds.EbenLibTreeMap;
 import org.ebenlib.user.UserStore;
 import org.ebenlib.book.BookService;
 import org.ebenlib.book.Book;
@@ -75,7 +79,7 @@ public class ReportHandler {
         ConsoleUI.println(String.format("  Suspended users: %d", suspended), ConsoleUI.WHITE);
 
         // Recent 5 users
-        EbenLibList<String> recent = all.map(u->u.getUsername()).skip((int)Math.max(0, total-5));
+        EbenLibList<String> recent = all.seq().skip(Math.max(0, total-5)).map(u->u.getUsername()).toList();
         if (!recent.isEmpty()) {
             ConsoleUI.println("  Recent users   : " + String.join(", ", recent), ConsoleUI.WHITE);
         }
@@ -101,46 +105,16 @@ public class ReportHandler {
         }
 
         // by category
-        EbenLibMap<String, Long> byCat = new EbenLibMap<>();
+        EbenLibObjectLongMap<String> byCat = new EbenLibObjectLongMap<>();
         for (Book b : books) {
-            String cat = b.getCategory();
-            byCat.put(cat, byCat.getOrDefault(cat, 0L) + 1);
+            byCat.increment(b.getCategory());
         }
 
         // most borrowed
-        EbenLibMap<String, Long> borrowCounts = new EbenLibMap<>();
-        EbenLibList<BorrowRecord> borrows = borrowStore.listAll();
-        for (BorrowRecord r : borrows) {
-            String isbn = r.getBookId();
-            borrowCounts.put(isbn, borrowCounts.getOrDefault(isbn, 0L) + 1);
-        }
+        EbenLibObjectLongMap<String> borrowCounts = borrowStore.countBorrowsByBook();
         
-        // 1) Build your own list of entries
-        EbenLibList<EbenLibMapEntry<String, Long>> topBooks = new EbenLibList<>();
-        for (EbenLibMapEntry<String, Long> e : borrowCounts.entrySet()) {
-            topBooks.add(e);
-        }
-
-        // 2) Create a reversed‑value comparator
-        EbenLibComparator<Long> longNatural = EbenLibComparator.<Long>naturalOrder();
-        EbenLibComparator<Long> longReversed = EbenLibComparator.reverseOrder(longNatural);
-
-        // 3) Now build an entry comparator that compares by value using the reversed long comparator
-        EbenLibComparator<EbenLibMapEntry<String, Long>> bookCountCmp =
-            EbenLibComparator.comparing(EbenLibMapEntry::getValue, longReversed);
-
-        // 4) Sort your list
-        Sorter.mergeSort(topBooks, bookCountCmp);
-
-        // 5) Trim to top 5
-        if (topBooks.size() > 5) {
-            topBooks = topBooks.subList(0, 5);
-        }
-
-
-        if (topBooks.size() > 5) {
-            topBooks = topBooks.subList(0, 5);
-        }
+        // top 5 by count, without sorting every title
+        EbenLibList<EbenLibMapEntry<String, Long>> topBooks = borrowCounts.topK(5);
 
         ConsoleUI.header("📚 Book Statistics");
         ConsoleUI.println(String.format("  Total Books              : %d", totalBooks), ConsoleUI.WHITE);
@@ -148,9 +122,8 @@ public class ReportHandler {
         ConsoleUI.println(String.format("  Low-stock (< %d copies)  : %d", threshold, lowStock.size()), ConsoleUI.WHITE);
 
         ConsoleUI.println("\n  By Category:", ConsoleUI.BOLD);
-        for (EbenLibMapEntry<String, Long> entry : byCat.entrySet()) {
-            ConsoleUI.println(String.format("    %-15s : %d", entry.getKey(), entry.getValue()), ConsoleUI.WHITE);
-        }
+        byCat.forEach((cat, count) ->
+            ConsoleUI.println(String.format("    %-15s : %d", cat, count), ConsoleUI.WHITE));
 
         ConsoleUI.println("\n  Top‑Borrowed Titles:", ConsoleUI.BOLD);
         if (topBooks.isEmpty()) {
@@ -173,7 +146,7 @@ public class ReportHandler {
 
     // ── BORROWS ────────────────────────────────────────────────────────────────────  
     public static void borrowsReport() {
-        EbenLibList<BorrowRecord> recs = borrowStore.listAll();
+        EbenLibPersistentList<BorrowRecord> recs = borrowStore.snapshot();
         long total = recs.size();
         long returned = 0, pending = 0, approved = 0, overdue = 0;
 
@@ -190,24 +163,8 @@ public class ReportHandler {
         }
 
         // top borrowers
-        EbenLibMap<String, Long> userCounts = new EbenLibMap<>();
-        for (BorrowRecord r : recs) {
-            if (r.getStatus() == Status.APPROVED || r.getStatus() == Status.RETURNED) {
-                String user = r.getUser();
-                userCounts.put(user, userCounts.getOrDefault(user, 0L) + 1);
-            }
-        }
-        // Build list of entries
-        EbenLibList<EbenLibMapEntry<String, Long>> topUsers = userCounts.entrySet();
-        // Comparator for counts, descending
-        EbenLibComparator<Long> longRev = EbenLibComparator.<Long>reverseOrder(EbenLibComparator.naturalOrder());
-        EbenLibComparator<EbenLibMapEntry<String, Long>> userCmp =
-            EbenLibComparator.comparing(EbenLibMapEntry::getValue, longRev);
-        // Sort and trim
-        Sorter.mergeSort(topUsers, userCmp);
-        if (topUsers.size() > 5) {
-            topUsers = topUsers.subList(0, 5);
-        }
+        EbenLibObjectLongMap<String> userCounts = borrowStore.countBorrowsByUser();
+        EbenLibList<EbenLibMapEntry<String, Long>> topUsers = userCounts.topK(5);
 
         ConsoleUI.header("📦 Borrowing Activity");
         ConsoleUI.println(String.format("  Total requests        : %d", total), ConsoleUI.WHITE);
@@ -216,6 +173,17 @@ public class ReportHandler {
         ConsoleUI.println(String.format("  Approved (outstanding): %d", approved), ConsoleUI.WHITE);
         ConsoleUI.println(String.format("  Overdue               : %d", overdue), ConsoleUI.WHITE);
 
+        // borrow records whose ISBN is no longer in the catalogue
+        EbenLibList<Book> catalogue = bookService.listAll();
+        EbenLibHashSet<String> knownIsbns = new EbenLibHashSet<>(catalogue.size());
+        for (Book b : catalogue) {
+            knownIsbns.add(b.getIsbn());
+        }
+        EbenLibHashSet<String> unknown = borrowStore.unknownBookIds(knownIsbns);
+        if (!unknown.isEmpty()) {
+            ConsoleUI.warning(unknown.size() + " borrowed ISBN(s) not found in the catalogue");
+        }
+
         ConsoleUI.println("\n  Top‑Borrowers:", ConsoleUI.BOLD);
         if (topUsers.isEmpty()) {
             ConsoleUI.println("    (no borrow records)", ConsoleUI.DIM);
@@ -236,29 +204,9 @@ public class ReportHandler {
             if (f > 0) fines.put(user, fines.getOrDefault(user, 0.0) + f);
         }
 
-        // 1) Manually populate your EbenLibList of fines entries
-        EbenLibList<EbenLibMapEntry<String, Double>> topFines = new EbenLibList<>();
-        for (EbenLibMapEntry<String, Double> e : fines.entrySet()) {
-            if (e.getValue() > 0) {
-                topFines.add(e);
-            }
-        }
-
-        // 2) Build & reverse a Double comparator
-        EbenLibComparator<Double> dblNatural = EbenLibComparator.<Double>naturalOrder();
-        EbenLibComparator<Double> dblReversed = EbenLibComparator.reverseOrder(dblNatural);
-
-        // 3) Comparator for entries by their Double value
-        EbenLibComparator<EbenLibMapEntry<String, Double>> fineCmp =
-            EbenLibComparator.comparing(EbenLibMapEntry::getValue, dblReversed);
-
-        // 4) Sort and keep top 5
-        Sorter.mergeSort(topFines, fineCmp);
-        if (topFines.size() > 5) {
-            topFines = topFines.subList(0, 5);
-        }
-
-        if (topFines.size() > 5) topFines = topFines.subList(0, 5); 
+        // only positive totals are stored, so the top 5 by value are the top debtors
+        EbenLibList<EbenLibMapEntry<String, Double>> topFines = EbenLibTopK.topK(fines, 5,
+            EbenLibComparator.comparing(EbenLibMapEntry::getValue, EbenLibComparator.<Double>naturalOrder()));
 
         ConsoleUI.println("\n  Top Outstanding Fines:", ConsoleUI.BOLD);
         if (topFines.isEmpty()) {
@@ -274,18 +222,12 @@ public class ReportHandler {
         }
 
         // ✅ BORROWING TRENDS (by request date)
-        EbenLibMap<LocalDate, Long> byDate = EbenLibMap.empty();
+        // tree map keeps the dates sorted, so no separate sort pass is needed
+        EbenLibTreeMap<LocalDate, Long> byDate = EbenLibTreeMap.naturalOrder();
         for (BorrowRecord r : recs) {
-            LocalDate date = r.getRequestDate();
-            Long prev = byDate.get(date);
-            if (prev == null) prev = 0L;
-            byDate.put(date, prev + 1L);
+            byDate.merge(r.getRequestDate(), 1L, Long::sum);
         }
 
-        // 2) (Optional) If you want to iterate in date order, sort the dates:
-        EbenLibList<LocalDate> dates = byDate.keySet();
-        Sorter.mergeSort(dates, EbenLibComparator.naturalOrder());
-
         ConsoleUI.println("\n  Borrowing Trends (by Date):", ConsoleUI.BOLD);
         if (byDate.isEmpty()) {
             ConsoleUI.println("    (no borrowing activity)", ConsoleUI.DIM);
@@ -2,6 +2,8 @@ package org.ebenlib.searchsort;
 
 
 
+import java.util.function.ToLongFunction;
+
 import org.ebenlib.ds.EbenLibComparator;
 import org.ebenlib.ds.EbenLibList;
 
@@ -9,19 +11,119 @@ import org.ebenlib.ds.EbenLibList;
 
 
 public class Searcher {
+
+    /** Half-open index span [from, to) of a sorted list. */
+    public record IndexRange(int from, int to) {
+        public int size()        { return to - from; }
+        public boolean isEmpty() { return from >= to; }
+    }
+
+    /**
+     * Returns the index of the first element equal to {@code target}
+     * under {@code comparator}, or -1 if there is none.
+     */
     public static <T> int binarySearch(EbenLibList<T> list, T target, EbenLibComparator<T> comparator) {
-        int low = 0, high = list.size() - 1;
+        int idx = lowerBound(list, target, comparator);
+        return idx < list.size() && comparator.compare(list.get(idx), target) == 0 ? idx : -1;
+    }
 
-        while (low <= high) {
-            int mid = (low + high) / 2;
-            int cmp = comparator.compare(list.get(mid), target);
+    /** Index of the first element not less than {@code key} (list.size() if none). */
+    public static <T> int lowerBound(EbenLibList<T> list, T key, EbenLibComparator<T> comparator) {
+        int low = 0, high = list.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(list.get(mid), key) < 0) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
 
-            if (cmp == 0) return mid;
-            else if (cmp < 0) low = mid + 1;
-            else high = mid - 1;
+    /** Index of the first element greater than {@code key} (list.size() if none). */
+    public static <T> int upperBound(EbenLibList<T> list, T key, EbenLibComparator<T> comparator) {
+        int low = 0, high = list.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(list.get(mid), key) <= 0) low = mid + 1;
+            else high = mid;
         }
+        return low;
+    }
 
-        return -1;
+    /** The span of elements equal to {@code key}; empty (at its insertion point) if none. */
+    public static <T> IndexRange equalRange(EbenLibList<T> list, T key, EbenLibComparator<T> comparator) {
+        return new IndexRange(lowerBound(list, key, comparator), upperBound(list, key, comparator));
+    }
+
+    /** The span of elements between {@code from} and {@code to}, both inclusive. */
+    public static <T> IndexRange rangeSearch(EbenLibList<T> list, T from, T to, EbenLibComparator<T> comparator) {
+        int start = lowerBound(list, from, comparator);
+        int end = Math.max(start, upperBound(list, to, comparator));
+        return new IndexRange(start, end);
     }
-}
 
+    // ─── Numeric keys ───────────────────────────────────────────────────────
+
+    /**
+     * Interpolation search over a list sorted by a numeric key (ids, years, …).
+     * Returns the index of the first element whose key is ≥ {@code target}
+     * (list.size() if none). Evenly spread keys resolve in O(log log n);
+     * each probe that fails to halve the range is followed by a bisection,
+     * so skewed keys still cost O(log n).
+     */
+    public static <T> int interpolationSearch(EbenLibList<T> list, long target, ToLongFunction<T> key) {
+        int n = list.size();
+        if (n == 0 || key.applyAsLong(list.get(0)) >= target) return 0;
+        if (key.applyAsLong(list.get(n - 1)) < target) return n;
+        // invariant: key(lo) < target <= key(hi)
+        int lo = 0, hi = n - 1;
+        boolean bisect = false;
+        while (hi - lo > 1) {
+            int width = hi - lo;
+            int probe;
+            if (bisect) {
+                probe = (lo + hi) >>> 1;
+            } else {
+                long kl = key.applyAsLong(list.get(lo));
+                long kh = key.applyAsLong(list.get(hi));
+                double fraction = ((double) target - kl) / ((double) kh - kl);
+                probe = lo + (int) (fraction * width);
+                probe = Math.max(lo + 1, Math.min(hi - 1, probe));
+            }
+            if (key.applyAsLong(list.get(probe)) >= target) hi = probe;
+            else lo = probe;
+            bisect = !bisect && (hi - lo) * 2 > width;
+        }
+        return hi;
+    }
+
+    /**
+     * Exponential (galloping) search over a list sorted by a numeric key:
+     * index of the first element whose key is ≥ {@code target}. Costs
+     * O(log i) where i is the answer, so it suits targets near the front.
+     */
+    public static <T> int exponentialSearch(EbenLibList<T> list, long target, ToLongFunction<T> key) {
+        int n = list.size();
+        int low = 0, bound = 1;
+        while (bound <= n && key.applyAsLong(list.get(bound - 1)) < target) {
+            low = bound;
+            bound <<= 1;
+        }
+        int high = Math.min(bound, n);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (key.applyAsLong(list.get(mid)) < target) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * The span of elements whose numeric key lies in [{@code from}, {@code to}],
+     * located by interpolation search.
+     */
+    public static <T> IndexRange rangeSearch(EbenLibList<T> list, long from, long to, ToLongFunction<T> key) {
+        int start = interpolationSearch(list, from, key);
+        int end = to == Long.MAX_VALUE ? list.size() : interpolationSearch(list, to + 1, key);
+        return new IndexRange(start, Math.max(start, end));
+    }
+}
@@ -1,34 +1,282 @@
 package org.ebenlib.searchsort;
 
 
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
 import org.ebenlib.ds.EbenLibComparator;
+import org.ebenlib.ds.EbenLibFunction;
 import org.ebenlib.ds.EbenLibList;
 
 public class Sorter {
+    /** Ranges at or below this size are sorted by insertion sort. */
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    /**
+     * Stable, in-place sort of {@code list}, working directly on its backing array.
+     * See {@link EbenLibList#sort}.
+     */
     public static <T> void mergeSort(EbenLibList<T> list, EbenLibComparator<T> comparator) {
-        if (list.size() <= 1) return;
+        list.sort(comparator);
+    }
+
+    /**
+     * Stable merge sort that splits the work across the common ForkJoinPool.
+     * Small inputs (or a single-core pool) fall back to the sequential path.
+     */
+    public static <T> void parallelSort(EbenLibList<T> list, EbenLibComparator<T> comparator) {
+        list.parallelSort(comparator);
+    }
+
+    // ─── Decorate-sort-undecorate ──────────────────────────────────────────
+
+    /**
+     * Stable sort of {@code list} by a derived key, extracting each key once
+     * instead of twice per comparison. Worth it when the key is costly to
+     * compute (case folding, parsing) and n log n extractions would dominate.
+     */
+    public static <T, K> void sortByKey(EbenLibList<T> list, EbenLibFunction<? super T, ? extends K> key,
+                                        EbenLibComparator<? super K> keyComparator) {
+        int n = list.size();
+        if (n < 2) return;
+        EbenLibList<Keyed<K, T>> keyed = new EbenLibList<>(n);
+        for (int i = 0; i < n; i++) {
+            T item = list.get(i);
+            keyed.add(new Keyed<>(key.apply(item), item));
+        }
+        keyed.sort((a, b) -> keyComparator.compare(a.key, b.key));
+        for (int i = 0; i < n; i++) {
+            list.set(i, keyed.get(i).item);
+        }
+    }
+
+    /**
+     * Sorts {@code list} by a string field in the same order as
+     * {@link String#CASE_INSENSITIVE_ORDER}, folding each string once up front.
+     */
+    public static <T> void sortByFoldedKey(EbenLibList<T> list, EbenLibFunction<? super T, String> key) {
+        sortByKey(list, item -> fold(key.apply(item)), EbenLibComparator.<String>naturalOrder());
+    }
+
+    /**
+     * Case-folds {@code s}; see {@link EbenLibComparator#fold}.
+     */
+    public static String fold(String s) {
+        return EbenLibComparator.fold(s);
+    }
+
+    /** An element paired with its precomputed sort key. */
+    private static final class Keyed<K, T> {
+        final K key;
+        final T item;
+
+        Keyed(K key, T item) {
+            this.key = key;
+            this.item = item;
+        }
+    }
+
+    // ─── Radix and counting sorts ──────────────────────────────────────────
+
+    /**
+     * Stable sort of {@code list} by an int key without comparisons.
+     *
+     * Picks the cheapest strategy for the keys at hand: insertion sort for
+     * tiny lists, a single counting pass when the key range is no wider than
+     * the list (years, quantities, dense ids), otherwise LSD radix sort on
+     * 8-bit digits, skipping digits every key shares.
+     */
+    public static <T> void radixSort(EbenLibList<T> list, ToIntFunction<? super T> key) {
+        int n = list.size();
+        if (n < 2) return;
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = key.applyAsInt(list.get(i));
+        }
+        sortByKeys(list, keys);
+    }
+
+    /** Long-keyed variant of {@link #radixSort(EbenLibList, ToIntFunction)}. */
+    public static <T> void radixSortLong(EbenLibList<T> list, ToLongFunction<? super T> key) {
+        int n = list.size();
+        if (n < 2) return;
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = key.applyAsLong(list.get(i));
+        }
+        sortByKeys(list, keys);
+    }
+
+    /**
+     * Stable sort by a date key, radix-sorting on its epoch day.
+     * The key must not be null.
+     */
+    public static <T> void radixSortByDate(EbenLibList<T> list, EbenLibFunction<? super T, LocalDate> key) {
+        radixSortLong(list, item -> key.apply(item).toEpochDay());
+    }
+
+    /**
+     * Stable MSD radix sort by a string key, in {@code String.compareTo}
+     * order. Suited to short fixed-width keys such as ISBNs, where it reads
+     * each character about once; falls back to {@link #sortByKey} when a
+     * key holds characters outside Latin-1.
+     */
+    public static <T> void msdRadixSort(EbenLibList<T> list, EbenLibFunction<? super T, String> key) {
+        int n = list.size();
+        if (n < 2) return;
+        String[] keys = new String[n];
+        Object[] items = new Object[n];
+        for (int i = 0; i < n; i++) {
+            T item = list.get(i);
+            String k = key.apply(item);
+            for (int j = 0; j < k.length(); j++) {
+                if (k.charAt(j) > 0xFF) {
+                    sortByKey(list, key, EbenLibComparator.<String>naturalOrder());
+                    return;
+                }
+            }
+            keys[i] = k;
+            items[i] = item;
+        }
+        msd(keys, items, 0, n, 0, new String[n], new Object[n]);
+        writeBack(list, items);
+    }
+
+    /** Sorts list and keys together by the (signed) keys. */
+    private static <T> void sortByKeys(EbenLibList<T> list, long[] keys) {
+        int n = keys.length;
+        Object[] items = new Object[n];
+        long min = keys[0], max = keys[0];
+        for (int i = 0; i < n; i++) {
+            items[i] = list.get(i);
+            min = Math.min(min, keys[i]);
+            max = Math.max(max, keys[i]);
+        }
+        if (min == max) return;
+        // shift to unsigned offsets from min so digits only cover the used range
+        for (int i = 0; i < n; i++) {
+            keys[i] -= min;
+        }
+        long range = max - min;
+        if (n <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(keys, items);
+        } else if (Long.compareUnsigned(range, n) < 0) {
+            items = countingSort(keys, items, (int) range + 1);
+        } else {
+            items = lsdRadixSort(keys, items, 64 - Long.numberOfLeadingZeros(range));
+        }
+        writeBack(list, items);
+    }
 
-        int mid = list.size() / 2;
-        EbenLibList<T> left = new EbenLibList<>(list.subList(0, mid));
-        EbenLibList<T> right = new EbenLibList<>(list.subList(mid, list.size()));
+    private static void insertionSort(long[] keys, Object[] items) {
+        for (int i = 1; i < keys.length; i++) {
+            long k = keys[i];
+            Object x = items[i];
+            int j = i - 1;
+            while (j >= 0 && Long.compareUnsigned(keys[j], k) > 0) {
+                keys[j + 1] = keys[j];
+                items[j + 1] = items[j];
+                j--;
+            }
+            keys[j + 1] = k;
+            items[j + 1] = x;
+        }
+    }
 
-        mergeSort(left, comparator);
-        mergeSort(right, comparator);
+    /** One stable pass for keys in [0, buckets). */
+    private static Object[] countingSort(long[] keys, Object[] items, int buckets) {
+        int[] start = new int[buckets + 1];
+        for (long k : keys) {
+            start[(int) k + 1]++;
+        }
+        for (int b = 0; b < buckets; b++) {
+            start[b + 1] += start[b];
+        }
+        Object[] out = new Object[items.length];
+        for (int i = 0; i < keys.length; i++) {
+            out[start[(int) keys[i]]++] = items[i];
+        }
+        return out;
+    }
 
-        merge(list, left, right, comparator);
+    /** LSD radix sort on the low {@code bits} bits of the keys; returns the sorted items. */
+    private static Object[] lsdRadixSort(long[] keys, Object[] items, int bits) {
+        int n = keys.length;
+        long[] keyBuf = new long[n];
+        Object[] itemBuf = new Object[n];
+        int[] start = new int[257];
+        for (int shift = 0; shift < bits; shift += 8) {
+            Arrays.fill(start, 0);
+            for (long k : keys) {
+                start[(int) ((k >>> shift) & 0xFF) + 1]++;
+            }
+            if (start[(int) ((keys[0] >>> shift) & 0xFF) + 1] == n) continue;   // digit shared by all
+            for (int b = 0; b < 256; b++) {
+                start[b + 1] += start[b];
+            }
+            for (int i = 0; i < n; i++) {
+                int pos = start[(int) ((keys[i] >>> shift) & 0xFF)]++;
+                keyBuf[pos] = keys[i];
+                itemBuf[pos] = items[i];
+            }
+            long[] tk = keys; keys = keyBuf; keyBuf = tk;
+            Object[] ti = items; items = itemBuf; itemBuf = ti;
+        }
+        return items;
     }
 
-    private static <T> void merge(EbenLibList<T> list, EbenLibList<T> left, EbenLibList<T> right, EbenLibComparator<T> comparator) {
-        int i = 0, j = 0, k = 0;
+    /** Character {@code d} of {@code s} as a bucket in [0, 256], with 0 meaning "past the end". */
+    private static int charAt(String s, int d) {
+        return d < s.length() ? s.charAt(d) + 1 : 0;
+    }
 
-        while (i < left.size() && j < right.size()) {
-            if (comparator.compare(left.get(i), right.get(j)) <= 0) {
-                list.set(k++, left.get(i++));
-            } else {
-                list.set(k++, right.get(j++));
+    /** Sorts keys/items[lo, hi), which already agree on their first {@code d} characters. */
+    private static void msd(String[] keys, Object[] items, int lo, int hi, int d,
+                            String[] keyBuf, Object[] itemBuf) {
+        if (hi - lo <= INSERTION_SORT_THRESHOLD) {
+            for (int i = lo + 1; i < hi; i++) {
+                String k = keys[i];
+                Object x = items[i];
+                int j = i - 1;
+                while (j >= lo && keys[j].compareTo(k) > 0) {
+                    keys[j + 1] = keys[j];
+                    items[j + 1] = items[j];
+                    j--;
+                }
+                keys[j + 1] = k;
+                items[j + 1] = x;
+            }
+            return;
+        }
+        int[] start = new int[258];
+        for (int i = lo; i < hi; i++) {
+            start[charAt(keys[i], d) + 1]++;
+        }
+        for (int b = 0; b < 257; b++) {
+            start[b + 1] += start[b];
+        }
+        int[] end = start.clone();
+        for (int i = lo; i < hi; i++) {
+            int pos = end[charAt(keys[i], d)]++;
+            keyBuf[pos] = keys[i];
+            itemBuf[pos] = items[i];
+        }
+        System.arraycopy(keyBuf, 0, keys, lo, hi - lo);
+        System.arraycopy(itemBuf, 0, items, lo, hi - lo);
+        // bucket 0 holds keys that ended at d; they are already equal
+        for (int b = 1; b < 257; b++) {
+            if (start[b + 1] - start[b] > 1) {
+                msd(keys, items, lo + start[b], lo + start[b + 1], d + 1, keyBuf, itemBuf);
             }
         }
-        while (i < left.size()) list.set(k++, left.get(i++));
-        while (j < right.size()) list.set(k++, right.get(j++));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void writeBack(EbenLibList<T> list, Object[] items) {
+        for (int i = 0; i < items.length; i++) {
+            list.set(i, (T) items[i]);
+        }
     }
 }
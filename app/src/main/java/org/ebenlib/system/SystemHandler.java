@@ -52,7 +52,7 @@ public class SystemHandler {
 
         ConsoleUI.println("\n  system config set <setting> <value>", ConsoleUI.BRIGHT_CYAN);
         ConsoleUI.println("      Update a configuration value. Requires password.", ConsoleUI.WHITE);
-        ConsoleUI.println("      Available settings: loanPeriod, finePerDay, blockThreshold, lowStock", ConsoleUI.DIM);
+        ConsoleUI.println("      Available settings: loanPeriod, finePerDay, blockThreshold, lowStock, columnarHistory, writeAheadLog", ConsoleUI.DIM);
 
         System.out.println();
     }
@@ -172,7 +172,7 @@ public class SystemHandler {
 
     public static void interactiveConfig() {
     ConsoleUI.println("Which setting would you like to update?", ConsoleUI.BOLD);
-    ConsoleUI.println("  loanperiod, fineperday, blockthreshold, lowstock", ConsoleUI.DIM);
+    ConsoleUI.println("  loanperiod, fineperday, blockthreshold, lowstock, columnarhistory, writeaheadlog", ConsoleUI.DIM);
 
     String key = ConsoleUI.prompt("Setting name");
     String val = ConsoleUI.prompt("New value");
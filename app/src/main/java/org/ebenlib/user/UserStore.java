@@ -1,13 +1,14 @@
 package org.ebenlib.user;
 
 import org.ebenlib.cli.ConsoleUI;
+import org.ebenlib.ds.EbenLibDictionary;
 import org.ebenlib.ds.EbenLibList;
 import org.ebenlib.ds.EbenLibComparator;
 import org.ebenlib.searchsort.Searcher;
 import org.ebenlib.searchsort.Sorter;
+import org.ebenlib.utils.AtomicFile;
 
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.IOException;
 import java.nio.file.*;
 import java.util.Optional;
@@ -19,6 +20,8 @@ import java.util.Optional;
 public class UserStore {
     private static final Path CSV = Paths.get("app","src","main","resources","users.csv");
     private final EbenLibList<User> users = new EbenLibList<>();
+    /** Roles repeat on every row; keep one instance of each. */
+    private final EbenLibDictionary roles = new EbenLibDictionary();
 
     /** Load all users from CSV into memory */
     public void load() {
@@ -31,7 +34,7 @@ public class UserStore {
                 if (f.length < 3) continue;
                 String username = f[0].trim();
                 String password = f[1].trim();
-                String role        = f[2].trim();
+                String role        = roles.intern(f[2].trim());
                 boolean active   = Boolean.parseBoolean(f[3].trim());
                 users.add(new User(username, password, role, active));
             }
@@ -43,10 +46,7 @@ public class UserStore {
     /** Write current users back to CSV */
     public void save() {
         try {
-            Files.createDirectories(CSV.getParent());
-            try (BufferedWriter w = Files.newBufferedWriter(CSV,
-                    StandardOpenOption.CREATE,
-                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            AtomicFile.write(CSV, w -> {
                 for (User u : users) {
                     w.write(String.join(",",
                         u.getUsername(),
@@ -56,7 +56,7 @@ public class UserStore {
                     ));
                     w.newLine();
                 }
-            }
+            });
         } catch (IOException e) {
             ConsoleUI.error("Failed to save users: " + e.getMessage());
         }
@@ -71,7 +71,7 @@ public class UserStore {
     public Optional<User> findByUsername(String username) {
         EbenLibList<User> list = new EbenLibList<>(users);
         EbenLibComparator<User> comparator = EbenLibComparator.comparing(User::getUsername, String.CASE_INSENSITIVE_ORDER);
-        Sorter.mergeSort(list, comparator);
+        Sorter.sortByFoldedKey(list, User::getUsername);
         User key = new User(username); // assumes constructor User(String username)
         int index = Searcher.binarySearch(list, key, comparator);
         return index >= 0 ? Optional.of(list.get(index)) : Optional.empty();
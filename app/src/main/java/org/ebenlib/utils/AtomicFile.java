@@ -0,0 +1,71 @@
+package org.ebenlib.utils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Crash-safe replacement of a whole data file.
+ *
+ * The new content is written to {@code <file>.tmp} in the same directory,
+ * fsynced, and renamed over the target with {@code ATOMIC_MOVE}; the
+ * directory is then fsynced where the platform allows it. A crash leaves
+ * either the previous file or the new one, never a truncated mix, and a
+ * reader that already has the previous file open keeps reading that
+ * complete version.
+ *
+ * Every replace gives the target a new file identity
+ * ({@code BasicFileAttributes.fileKey()} on platforms that report one),
+ * which readers can compare as a generation marker.
+ */
+public final class AtomicFile {
+
+    /** Produces the file content; called once per write. */
+    @FunctionalInterface
+    public interface Body {
+        void writeTo(BufferedWriter w) throws IOException;
+    }
+
+    private AtomicFile() {}
+
+    /** Replaces {@code target} with whatever {@code body} writes, as one atomic step. */
+    public static void write(Path target, Body body) throws IOException {
+        Path dir = target.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                 BufferedWriter w = new BufferedWriter(Channels.newWriter(ch, StandardCharsets.UTF_8))) {
+                body.writeTo(w);
+                w.flush();
+                ch.force(true);
+            }
+            try {
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        syncDirectory(dir);
+    }
+
+    /** Makes the rename itself durable. Not every platform can open a directory; the rename is atomic either way. */
+    private static void syncDirectory(Path dir) {
+        try (FileChannel d = FileChannel.open(dir, StandardOpenOption.READ)) {
+            d.force(true);
+        } catch (IOException e) {
+            // e.g. Windows: directories cannot be opened as channels
+        }
+    }
+}
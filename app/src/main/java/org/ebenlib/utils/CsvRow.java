@@ -0,0 +1,165 @@
+package org.ebenlib.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * One CSV line, viewed in place inside a reader's byte buffer.
+ *
+ * Only the field boundaries are found up front; a field becomes a String
+ * when {@link #get} asks for it, and {@link #getInt} parses digits
+ * straight from the bytes. A comma preceded by a backslash is data, not a
+ * separator, and {@link #get} turns {@code \,} back into {@code ,}.
+ *
+ * The reader reuses one instance for every line, so a row is only valid
+ * inside the callback it was passed to.
+ */
+public final class CsvRow {
+    private ByteBuffer buf;
+    private int lineStart, lineEnd;
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private long escaped;   // bit i: field i contains "\,"; fields 63+ share bit 63
+    private int count;
+    private byte[] scratch;
+
+    public CsvRow() {}
+
+    /** Points the row at bytes {@code [from, to)} of {@code buf}, which hold one line without its terminator. */
+    public void reset(ByteBuffer buf, int from, int to) {
+        this.buf = buf;
+        this.lineStart = from;
+        this.lineEnd = to;
+        count = 0;
+        escaped = 0;
+        int start = from;
+        for (int i = from; i < to; i++) {
+            if (buf.get(i) != ',') continue;
+            if (i > from && buf.get(i - 1) == '\\') {
+                escaped |= 1L << Math.min(count, 63);
+                continue;
+            }
+            addField(start, i);
+            start = i + 1;
+        }
+        addField(start, to);
+    }
+
+    // --- Accessors ---
+
+    /** Number of fields; an empty line has one empty field. */
+    public int size() {
+        return count;
+    }
+
+    /** Field {@code i}, unescaped. */
+    public String get(int i) {
+        checkField(i);
+        int s = starts[i], len = ends[i] - s;
+        if ((escaped >>> Math.min(i, 63) & 1) == 0) return decode(s, len);
+        byte[] b = scratch(len);
+        int n = 0;
+        for (int p = s; p < s + len; p++) {
+            byte c = buf.get(p);
+            if (c == '\\' && p + 1 < s + len && buf.get(p + 1) == ',') continue;
+            b[n++] = c;
+        }
+        return new String(b, 0, n, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Field {@code i} as an int, parsed without creating a String. Surrounding
+     * spaces are ignored; otherwise the same errors as {@link Integer#parseInt}.
+     */
+    public int getInt(int i) {
+        checkField(i);
+        int p = starts[i], end = ends[i];
+        if (end > p && end - p <= 10) {
+            boolean negative = buf.get(p) == '-';
+            if (negative || buf.get(p) == '+') p++;
+            long v = 0;
+            boolean digits = p < end;
+            for (; p < end; p++) {
+                int d = buf.get(p) - '0';
+                if (d < 0 || d > 9) {
+                    digits = false;
+                    break;
+                }
+                v = v * 10 + d;
+            }
+            if (digits) {
+                v = negative ? -v : v;
+                if (v >= Integer.MIN_VALUE && v <= Integer.MAX_VALUE) return (int) v;
+            }
+        }
+        return Integer.parseInt(get(i).trim());   // slow path; throws with the usual message
+    }
+
+    /**
+     * Field {@code i} as an ISO date ({@code yyyy-MM-dd}), or null if the field
+     * is blank. The common unpadded form is read straight from the bytes.
+     */
+    public LocalDate getDate(int i) {
+        checkField(i);
+        int p = starts[i];
+        if (ends[i] - p == 10 && buf.get(p + 4) == '-' && buf.get(p + 7) == '-') {
+            int year = digits(p, 4), month = digits(p + 5, 2), day = digits(p + 8, 2);
+            if (year >= 0 && month >= 0 && day >= 0) return LocalDate.of(year, month, day);
+        }
+        String s = get(i).trim();
+        return s.isEmpty() ? null : LocalDate.parse(s);
+    }
+
+    /** The raw line, escapes included. */
+    @Override
+    public String toString() {
+        return decode(lineStart, lineEnd - lineStart);
+    }
+
+    // ─── Internal helpers ───────────────────────────────────────────────────
+
+    private void addField(int start, int end) {
+        if (count == starts.length) {
+            int[] s = new int[count * 2], e = new int[count * 2];
+            System.arraycopy(starts, 0, s, 0, count);
+            System.arraycopy(ends, 0, e, 0, count);
+            starts = s;
+            ends = e;
+        }
+        starts[count] = start;
+        ends[count] = end;
+        count++;
+    }
+
+    /** Value of {@code n} decimal digits at {@code p}, or -1 if any is not a digit. */
+    private int digits(int p, int n) {
+        int v = 0;
+        for (int end = p + n; p < end; p++) {
+            int d = buf.get(p) - '0';
+            if (d < 0 || d > 9) return -1;
+            v = v * 10 + d;
+        }
+        return v;
+    }
+
+    private String decode(int start, int len) {
+        if (buf.hasArray()) {
+            return new String(buf.array(), buf.arrayOffset() + start, len, StandardCharsets.UTF_8);
+        }
+        byte[] b = scratch(len);
+        buf.get(start, b, 0, len);
+        return new String(b, 0, len, StandardCharsets.UTF_8);
+    }
+
+    private byte[] scratch(int len) {
+        if (scratch == null || scratch.length < len) scratch = new byte[Math.max(len, 64)];
+        return scratch;
+    }
+
+    private void checkField(int i) {
+        if (i < 0 || i >= count) {
+            throw new IndexOutOfBoundsException("Field " + i + " out of bounds for " + count + " fields");
+        }
+    }
+}
@@ -2,8 +2,10 @@ package org.ebenlib.utils;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.*;
+import java.util.function.Consumer;
 
 import org.ebenlib.cli.AuthHandler;
 import org.ebenlib.cli.ConsoleUI;
@@ -13,40 +15,92 @@ import org.ebenlib.user.User;
 
 public class FileUtil {
 
+    /** Read buffer size; lines longer than this grow the buffer for that read only. */
+    private static final int READ_BUFFER = 64 * 1024;
+
     /**
      * Read every line of the CSV at `path`, parse with `mapper`, return the list.
      */
     public static <T> EbenLibList<T> readCSV(Path path, EbenLibFunction<String, T> mapper) {
-        EbenLibList<T> result = EbenLibList.empty();
-        try {
-            if (Files.notExists(path)) return result;
-            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
-                if (!line.isBlank()) {
-                    result.add(mapper.apply(line));
+        return readRows(path, row -> mapper.apply(row.toString()));
+    }
+
+    /**
+     * Parse every non-blank row of the CSV at `path` with `mapper`, return the list.
+     * The mapper sees each row in place (see {@link CsvRow}) and decodes only the
+     * fields it needs.
+     */
+    public static <T> EbenLibList<T> readRows(Path path, EbenLibFunction<CsvRow, T> mapper) {
+        EbenLibList<T> result = new EbenLibList<>();
+        forEachRow(path, row -> result.add(mapper.apply(row)));
+        return result;
+    }
+
+    /**
+     * Stream the CSV at `path` through `action`, one reused {@link CsvRow} per
+     * non-blank line. The file is read through a fixed buffer, so memory stays
+     * bounded by the longest line, not the file size. A missing file has no rows.
+     */
+    public static void forEachRow(Path path, Consumer<CsvRow> action) {
+        if (Files.notExists(path)) return;
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buf = ByteBuffer.allocate(READ_BUFFER);
+            CsvRow row = new CsvRow();
+            int scanned = 0;   // bytes at the front of buf already searched for '\n'
+            while (true) {
+                boolean eof = ch.read(buf) < 0;
+                int limit = buf.position();
+                int lineStart = 0;
+                for (int i = scanned; i < limit; i++) {
+                    if (buf.get(i) == '\n') {
+                        emit(buf, lineStart, i, row, action);
+                        lineStart = i + 1;
+                    }
+                }
+                if (eof) {
+                    if (lineStart < limit) emit(buf, lineStart, limit, row, action);
+                    return;
+                }
+                // carry the partial last line to the front; grow only if it fills the buffer
+                buf.limit(limit).position(lineStart);
+                buf.compact();
+                scanned = buf.position();
+                if (!buf.hasRemaining()) {
+                    ByteBuffer bigger = ByteBuffer.allocate(buf.capacity() * 2);
+                    bigger.put(buf.flip());
+                    buf = bigger;
                 }
             }
-            return result;
         } catch (IOException e) {
             throw new RuntimeException("Failed to read CSV " + path, e);
         }
     }
 
+    private static void emit(ByteBuffer buf, int from, int to, CsvRow row, Consumer<CsvRow> action) {
+        if (to > from && buf.get(to - 1) == '\r') to--;
+        int i = from;
+        while (i < to && (buf.get(i) & 0xFF) <= ' ') i++;
+        if (i == to) return;   // blank line
+        row.reset(buf, from, to);
+        action.accept(row);
+    }
+
 
     /**
      * Write `items` to CSV at `path`, one line per item via `toCsv`.
-     * Overwrites existing file.
+     * Replaces the existing file atomically (see {@link AtomicFile}), so a
+     * crash mid-write never leaves a truncated file behind.
      */
     public static <T> void writeCSV(Path path,
                                     EbenLibList<T> items,
                                     EbenLibFunction<T, String> toCsv) {
         try {
-            // map each item → CSV line
-            EbenLibList<String> lines = items.map(toCsv);
-            // write out
-            Files.write(path,
-                        lines,
-                        StandardCharsets.UTF_8,
-                        StandardOpenOption.TRUNCATE_EXISTING);
+            AtomicFile.write(path, w -> {
+                for (T item : items) {
+                    w.write(toCsv.apply(item));
+                    w.newLine();
+                }
+            });
         } catch (IOException e) {
             throw new RuntimeException("Failed to write CSV " + path + ": " + e.getMessage(), e);
         }
@@ -0,0 +1,111 @@
+package org.ebenlib.ds;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stress tests: many threads hammer the same keys at once and the final
+ * counts must show no lost updates.
+ */
+class EbenLibConcurrentMapTest {
+    private static final int THREADS = 8;
+    private static final int OPS = 20_000;
+
+    /** Starts THREADS copies of {@code body} together and waits for all of them. */
+    private static void race(IntBody body) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] ts = new Thread[THREADS];
+        Throwable[] failure = new Throwable[1];
+        for (int t = 0; t < THREADS; t++) {
+            int id = t;
+            ts[t] = new Thread(() -> {
+                try {
+                    start.await();
+                    body.run(id);
+                } catch (Throwable e) {
+                    failure[0] = e;
+                }
+            });
+            ts[t].start();
+        }
+        start.countDown();
+        for (Thread t : ts) {
+            t.join();
+        }
+        if (failure[0] != null) fail(failure[0]);
+    }
+
+    @FunctionalInterface
+    private interface IntBody {
+        void run(int threadId) throws Exception;
+    }
+
+    @Test void mergeLosesNoIncrements() throws InterruptedException {
+        EbenLibConcurrentMap<String, Integer> counts = new EbenLibConcurrentMap<>();
+        // few hot keys plus growth, so merges contend and resizes happen mid-run
+        race(id -> {
+            for (int i = 0; i < OPS; i++) {
+                counts.merge("hot" + (i % 4), 1, Integer::sum);
+                counts.merge("k" + i, 1, Integer::sum);
+            }
+        });
+        for (int k = 0; k < 4; k++) {
+            assertEquals(THREADS * OPS / 4, counts.get("hot" + k));
+        }
+        for (int i = 0; i < OPS; i++) {
+            assertEquals(THREADS, counts.get("k" + i));
+        }
+        assertEquals(OPS + 4, counts.size());
+    }
+
+    @Test void computeIfAbsentRunsOncePerKey() throws InterruptedException {
+        EbenLibConcurrentMap<Integer, Integer> map = new EbenLibConcurrentMap<>();
+        AtomicInteger calls = new AtomicInteger();
+        race(id -> {
+            for (int i = 0; i < OPS; i++) {
+                map.computeIfAbsent(i, k -> {
+                    calls.incrementAndGet();
+                    return k * 2;
+                });
+            }
+        });
+        assertEquals(OPS, calls.get());
+        assertEquals(OPS, map.size());
+        assertEquals(84, map.get(42));
+    }
+
+    @Test void readersNeverSeeTornState() throws InterruptedException {
+        EbenLibConcurrentMap<Integer, Integer> map = new EbenLibConcurrentMap<>();
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+        race(id -> {
+            if (id % 2 == 0) {
+                for (int i = 0; i < OPS; i++) {
+                    map.put(1000 + id * OPS + i, i);   // forces resizes
+                }
+            } else {
+                for (int i = 0; i < OPS; i++) {
+                    int k = i % 1000;
+                    assertEquals(k, map.get(k));        // pre-existing keys stay visible
+                }
+            }
+        });
+    }
+
+    @Test void copyOnWriteListLosesNoAdds() throws InterruptedException {
+        EbenLibCopyOnWriteList<Integer> list = new EbenLibCopyOnWriteList<>();
+        race(id -> {
+            for (int i = 0; i < 500; i++) {
+                list.add(id);
+                int n = 0;
+                for (Integer ignored : list) n++;       // iteration sees a complete version
+                assertTrue(n >= i + 1);
+            }
+        });
+        assertEquals(THREADS * 500, list.size());
+    }
+}
@@ -0,0 +1,154 @@
+package org.ebenlib.ds;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Random;
+
+/**
+ * Collision benchmark: adversarial keys that all share one hash code.
+ * Instead of timing, it counts key comparisons per lookup, which must grow
+ * like log n (tree bin) rather than n (plain chain).
+ */
+class EbenLibMapTest {
+
+    /** Every instance hashes to the same value; counts the comparisons made on it. */
+    private static final class Collider implements Comparable<Collider> {
+        static long comparisons = 0;
+        final int id;
+
+        Collider(int id) { this.id = id; }
+
+        @Override public int hashCode() { return 42; }
+
+        @Override public boolean equals(Object o) {
+            comparisons++;
+            return o instanceof Collider c && c.id == id;
+        }
+
+        @Override public int compareTo(Collider o) {
+            comparisons++;
+            return Integer.compare(id, o.id);
+        }
+    }
+
+    /** Same-hash keys whose compareTo calls ids 0 and 1 equal although equals does not. */
+    private static final class CoarseCollider implements Comparable<CoarseCollider> {
+        static long comparisons = 0;
+        final int id;
+        CoarseCollider(int id) { this.id = id; }
+        @Override public int hashCode() { return 42; }
+        @Override public boolean equals(Object o) { return o instanceof CoarseCollider c && c.id == id; }
+        @Override public int compareTo(CoarseCollider o) {
+            comparisons++;
+            return Integer.compare(Math.max(id, 1), Math.max(o.id, 1));
+        }
+    }
+
+    /** Same-hash keys with no ordering: must still work, just as a chain. */
+    private static final class PlainCollider {
+        final int id;
+        PlainCollider(int id) { this.id = id; }
+        @Override public int hashCode() { return 42; }
+        @Override public boolean equals(Object o) { return o instanceof PlainCollider p && p.id == id; }
+    }
+
+    @Test void sameHashLookupsStayLogarithmic() {
+        int n = 4096;
+        EbenLibMap<Collider, Integer> map = new EbenLibMap<>();
+        for (int i = 0; i < n; i++) {
+            map.put(new Collider(i), i);
+        }
+        long worst = 0;
+        for (int i = 0; i < n; i++) {
+            Collider.comparisons = 0;
+            assertEquals(i, map.get(new Collider(i)));
+            worst = Math.max(worst, Collider.comparisons);
+        }
+        // a red-black tree of 4096 nodes is at most 2*log2(4097) ~ 24 levels deep
+        assertTrue(worst <= 26, "worst lookup took " + worst + " comparisons");
+
+        Collider.comparisons = 0;
+        assertNull(map.get(new Collider(-1)));
+        assertTrue(Collider.comparisons <= 26);
+    }
+
+    @Test void sameHashRemovalAndReinsertKeepContents() {
+        EbenLibMap<Collider, Integer> map = new EbenLibMap<>(true, null);
+        HashMap<Integer, Integer> ref = new HashMap<>();
+        Random rnd = new Random(7);
+        for (int op = 0; op < 20_000; op++) {
+            int k = rnd.nextInt(300);
+            if (rnd.nextInt(3) == 0) {
+                assertEquals(ref.remove(k), map.remove(new Collider(k)));
+            } else {
+                assertEquals(ref.put(k, op), map.put(new Collider(k), op));
+            }
+            assertEquals(ref.size(), map.size());
+        }
+        for (int k = 0; k < 300; k++) {
+            assertEquals(ref.get(k), map.get(new Collider(k)));
+        }
+    }
+
+    @Test void sameHashRemovalsStayLogarithmic() {
+        int n = 4096;
+        EbenLibMap<Collider, Integer> map = new EbenLibMap<>();
+        for (int i = 0; i < n; i++) {
+            map.put(new Collider(i), i);
+        }
+        long worst = 0;
+        for (int i = 0; i < n; i++) {
+            Collider.comparisons = 0;
+            assertEquals(i, map.remove(new Collider(i)));
+            worst = Math.max(worst, Collider.comparisons);
+        }
+        // one tree search to find the node and one to drop it from the index
+        assertTrue(worst <= 2 * 26, "worst removal took " + worst + " comparisons");
+        assertTrue(map.isEmpty());
+    }
+
+    @Test void unorderableBinIsNotRetreeifiedOnEveryInsert() {
+        int n = 2000;
+        EbenLibMap<CoarseCollider, Integer> map = new EbenLibMap<>();
+        CoarseCollider.comparisons = 0;
+        for (int i = 0; i < n; i++) {
+            map.put(new CoarseCollider(i), i);
+        }
+        // the clash sits at the far end of the chain, so every rebuild walks it all;
+        // only a resize may retry, which keeps the total near n log n
+        assertTrue(CoarseCollider.comparisons < 200_000,
+            "inserts made " + CoarseCollider.comparisons + " comparisons");
+        for (int i = 0; i < n; i++) {
+            assertEquals(i, map.get(new CoarseCollider(i)));
+        }
+    }
+
+    @Test void nonComparableCollisionsFallBackToChains() {
+        EbenLibMap<PlainCollider, Integer> map = new EbenLibMap<>();
+        for (int i = 0; i < 200; i++) {
+            map.put(new PlainCollider(i), i);
+        }
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i, map.get(new PlainCollider(i)));
+        }
+        assertEquals(150, map.remove(new PlainCollider(150)));
+        assertNull(map.get(new PlainCollider(150)));
+        assertEquals(199, map.size());
+    }
+
+    @Test void extremeHashCodesMapToValidBuckets() {
+        EbenLibMap<Integer, String> map = new EbenLibMap<>();
+        EbenLibHashSet<Integer> set = new EbenLibHashSet<>();
+        // Integer.hashCode() is the value itself, so MIN_VALUE used to give a negative index
+        for (int v : new int[] { Integer.MIN_VALUE, Integer.MAX_VALUE, -1, 0 }) {
+            map.put(v, "v" + v);
+            set.add(v);
+        }
+        assertEquals("v" + Integer.MIN_VALUE, map.get(Integer.MIN_VALUE));
+        assertTrue(set.contains(Integer.MIN_VALUE));
+        assertEquals(4, map.size());
+        assertEquals(4, set.size());
+    }
+}
@@ -0,0 +1,106 @@
+package org.ebenlib.ds;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Random;
+
+/**
+ * Persistent list and map checked against java.util references, across
+ * the sizes where the trie grows a level (32, 1024, 32768).
+ */
+class EbenLibPersistentTest {
+
+    /** Same hash for every instance, to exercise collision nodes. */
+    private static final class Clash {
+        final int id;
+        Clash(int id) { this.id = id; }
+        @Override public int hashCode() { return 7; }
+        @Override public boolean equals(Object o) { return o instanceof Clash c && c.id == id; }
+    }
+
+    @Test void listMatchesArrayListThroughGrowthAndShrink() {
+        int n = 40_000;
+        EbenLibPersistentList<Integer> list = EbenLibPersistentList.empty();
+        ArrayList<Integer> ref = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            list = list.plus(i);
+            ref.add(i);
+        }
+        assertEquals(n, list.size());
+        for (int i = 0; i < n; i++) {
+            assertEquals(ref.get(i), list.get(i));
+        }
+
+        Random rnd = new Random(3);
+        for (int k = 0; k < 2000; k++) {
+            int i = rnd.nextInt(n);
+            list = list.with(i, -i);
+            ref.set(i, -i);
+        }
+        int i = 0;
+        for (Integer v : list) {
+            assertEquals(ref.get(i++), v);
+        }
+
+        while (list.size() > 0) {
+            list = list.minusLast();
+            ref.remove(ref.size() - 1);
+            if (!ref.isEmpty()) assertEquals(ref.get(ref.size() - 1), list.get(list.size() - 1));
+        }
+        assertTrue(list.isEmpty());
+    }
+
+    @Test void listUpdatesLeaveOldVersionsIntact() {
+        EbenLibPersistentList<String> v1 = EbenLibPersistentList.of("a", "b", "c");
+        EbenLibPersistentList<String> v2 = v1.plus("d").with(0, "z");
+        assertEquals("[a, b, c]", v1.toString());
+        assertEquals("[z, b, c, d]", v2.toString());
+
+        EbenLibList<Integer> src = new EbenLibList<>();
+        for (int k = 0; k < 1100; k++) src.add(k);
+        EbenLibPersistentList<Integer> copied = EbenLibPersistentList.from(src);
+        assertEquals(1100, copied.size());
+        assertEquals(1099, copied.get(1099));
+        assertEquals(1101, copied.plus(1100).size());
+        assertEquals(1100, copied.plus(1100).get(1100));
+        assertThrows(IndexOutOfBoundsException.class, () -> copied.get(1100));
+    }
+
+    @Test void mapMatchesHashMap() {
+        EbenLibPersistentMap<Integer, Integer> map = EbenLibPersistentMap.empty();
+        HashMap<Integer, Integer> ref = new HashMap<>();
+        Random rnd = new Random(11);
+        for (int op = 0; op < 50_000; op++) {
+            int k = rnd.nextInt(5000) - 2500;
+            if (rnd.nextInt(3) == 0) {
+                map = map.minus(k);
+                ref.remove(k);
+            } else {
+                map = map.plus(k, op);
+                ref.put(k, op);
+            }
+            assertEquals(ref.size(), map.size());
+        }
+        for (int k = -2500; k < 2500; k++) {
+            assertEquals(ref.get(k), map.get(k));
+        }
+        assertEquals(ref.size(), map.entrySet().size());
+    }
+
+    @Test void mapHandlesFullHashCollisions() {
+        EbenLibPersistentMap<Object, Integer> map = EbenLibPersistentMap.empty();
+        for (int i = 0; i < 50; i++) {
+            map = map.plus(new Clash(i), i);
+        }
+        EbenLibPersistentMap<Object, Integer> before = map.plus("other", -1);
+        map = before.minus(new Clash(10));
+        assertEquals(50, map.size());
+        assertNull(map.get(new Clash(10)));
+        assertEquals(10, before.get(new Clash(10)));
+        assertEquals(-1, map.get("other"));
+        assertThrows(IllegalArgumentException.class, () -> before.plus("x", null));
+    }
+}
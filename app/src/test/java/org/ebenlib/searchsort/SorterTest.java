@@ -0,0 +1,74 @@
+package org.ebenlib.searchsort;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.ebenlib.ds.EbenLibComparator;
+import org.ebenlib.ds.EbenLibList;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * The non-comparison sorts must give exactly the order (ties included) of
+ * the stable merge sort on the same key.
+ */
+class SorterTest {
+
+    private record Row(long key, String code, int seq) {}
+
+    private static EbenLibList<Row> rows(int n, long bound, Random rnd) {
+        EbenLibList<Row> out = new EbenLibList<>(n);
+        for (int i = 0; i < n; i++) {
+            long k = bound > 0 ? rnd.nextLong() % bound : rnd.nextLong();
+            StringBuilder code = new StringBuilder("978");
+            for (int d = rnd.nextInt(3); d < 10; d++) code.append((char) ('0' + rnd.nextInt(3)));
+            out.add(new Row(k, code.toString(), i));
+        }
+        return out;
+    }
+
+    private static void assertSameOrder(EbenLibList<Row> expected, EbenLibList<Row> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), actual.get(i), "mismatch at " + i);
+        }
+    }
+
+    @Test void radixSortMatchesMergeSort() {
+        Random rnd = new Random(5);
+        // tiny, dense (counting pass), wide (radix passes) and full-range keys
+        long[] bounds = { 10, 1_000, 1L << 40, 0 };
+        for (int n : new int[] { 0, 1, 20, 5_000 }) {
+            for (long bound : bounds) {
+                EbenLibList<Row> expected = rows(n, bound, rnd);
+                EbenLibList<Row> ints = new EbenLibList<>(expected);
+                EbenLibList<Row> longs = new EbenLibList<>(expected);
+                Sorter.radixSort(ints, r -> (int) r.key());
+                Sorter.radixSortLong(longs, Row::key);
+
+                EbenLibList<Row> byInt = new EbenLibList<>(expected);
+                Sorter.mergeSort(byInt, (a, b) -> Integer.compare((int) a.key(), (int) b.key()));
+                Sorter.mergeSort(expected, (a, b) -> Long.compare(a.key(), b.key()));
+                assertSameOrder(byInt, ints);
+                assertSameOrder(expected, longs);
+            }
+        }
+    }
+
+    @Test void dateAndStringSortsMatchMergeSort() {
+        Random rnd = new Random(9);
+        EbenLibList<Row> expected = rows(3_000, 20_000, rnd);
+        EbenLibList<Row> byDate = new EbenLibList<>(expected);
+        EbenLibList<Row> byCode = new EbenLibList<>(expected);
+        EbenLibList<Row> dateRef = new EbenLibList<>(expected);
+
+        Sorter.radixSortByDate(byDate, r -> LocalDate.ofEpochDay(r.key()));
+        Sorter.mergeSort(dateRef, EbenLibComparator.comparing(r -> LocalDate.ofEpochDay(r.key())));
+        assertSameOrder(dateRef, byDate);
+
+        Sorter.msdRadixSort(byCode, Row::code);
+        Sorter.mergeSort(expected, EbenLibComparator.comparing(Row::code));
+        assertSameOrder(expected, byCode);
+    }
+}